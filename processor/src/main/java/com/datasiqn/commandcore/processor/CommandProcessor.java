@@ -0,0 +1,461 @@
+package com.datasiqn.commandcore.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Generates a {@code <ClassName>Builder} class for every class annotated with {@code @Command}.
+ * <p>
+ * The generated class contains the same {@code CommandBuilder} chain that would otherwise be written by hand, so nothing is read reflectively at runtime.
+ * Duplicate command names, duplicate subcommands and arguments that can never be reached are reported as compile errors.
+ */
+public class CommandProcessor extends AbstractProcessor {
+    private static final String PACKAGE = "com.datasiqn.commandcore.";
+    private static final String COMMAND = PACKAGE + "annotation.Command";
+    private static final String SUBCOMMAND = PACKAGE + "annotation.Subcommand";
+    private static final String ARG = PACKAGE + "annotation.Arg";
+    private static final String REQUIRES = PACKAGE + "annotation.Requires";
+    private static final String ARGUMENT_TYPE = PACKAGE + "argument.type.ArgumentType";
+    private static final String COMMAND_CONTEXT = PACKAGE + "command.CommandContext";
+    private static final String COMMAND_SOURCE = PACKAGE + "command.source.CommandSource";
+    // argument types that parse every word, so no sibling after them can ever be reached
+    private static final Set<String> CATCH_ALL_TYPES = new HashSet<>(Arrays.asList("ArgumentType.WORD", "ArgumentType.NAME"));
+    private static final Map<String, String> INFERRED_TYPES = new HashMap<>();
+
+    static {
+        INFERRED_TYPES.put("java.lang.String", "WORD");
+        INFERRED_TYPES.put("java.lang.Integer", "INTEGER");
+        INFERRED_TYPES.put("java.lang.Long", "LONG");
+        INFERRED_TYPES.put("java.lang.Double", "DOUBLE");
+        INFERRED_TYPES.put("java.lang.Float", "FLOAT");
+        INFERRED_TYPES.put("java.lang.Boolean", "BOOLEAN");
+        INFERRED_TYPES.put("java.util.UUID", "UUID");
+        INFERRED_TYPES.put("org.bukkit.util.Vector", "VECTOR");
+        INFERRED_TYPES.put("org.bukkit.World", "WORLD");
+        INFERRED_TYPES.put("org.bukkit.Material", "MATERIAL");
+        INFERRED_TYPES.put("org.bukkit.entity.EntityType", "ENTITY");
+        INFERRED_TYPES.put("org.bukkit.entity.Player", "PLAYER");
+        INFERRED_TYPES.put("org.bukkit.loot.LootTable", "LOOT_TABLE");
+        INFERRED_TYPES.put(PACKAGE + "argument.OfflinePlayerLookup", "OFFLINE_PLAYER");
+        INFERRED_TYPES.put(PACKAGE + "argument.selector.EntitySelector", "ENTITY_SELECTOR");
+        INFERRED_TYPES.put(PACKAGE + "command.Command", "COMMAND");
+    }
+
+    // command names are checked across rounds, since the same CommandManager usually registers all of them
+    private final Map<String, TypeElement> commandNames = new HashMap<>();
+    private Messager messager;
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.messager = processingEnv.getMessager();
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new HashSet<>(Arrays.asList(COMMAND, SUBCOMMAND, ARG, REQUIRES));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement commandAnnotation = elements.getTypeElement(COMMAND);
+        TypeElement subcommandAnnotation = elements.getTypeElement(SUBCOMMAND);
+        if (commandAnnotation == null || subcommandAnnotation == null) return false;
+        for (Element method : roundEnv.getElementsAnnotatedWith(subcommandAnnotation)) {
+            if (getMirror(method.getEnclosingElement(), COMMAND) == null) error(method, "@Subcommand methods must be in a class annotated with @Command");
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(commandAnnotation)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@Command can only be used on classes");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (type.getModifiers().contains(Modifier.PRIVATE)) {
+                error(type, "@Command classes cannot be private");
+                continue;
+            }
+            CommandModel model = buildModel(type);
+            if (model != null) write(type, model);
+        }
+        return true;
+    }
+
+    private CommandModel buildModel(TypeElement type) {
+        AnnotationMirror command = getMirror(type, COMMAND);
+        String name = getString(command, "value");
+        List<String> aliases = getStrings(command, "aliases");
+        boolean valid = true;
+        for (String label : concat(name, aliases)) {
+            if (label.isEmpty() || label.contains(" ")) {
+                error(type, "Command names and aliases cannot be empty or contain spaces: '" + label + "'");
+                valid = false;
+                continue;
+            }
+            TypeElement previous = commandNames.putIfAbsent(label, type);
+            if (previous != null && !previous.equals(type)) {
+                error(type, "Command name or alias '" + label + "' is already used by " + previous.getQualifiedName());
+                valid = false;
+            }
+        }
+
+        CommandModel model = new CommandModel(name, aliases, getString(command, "description"), getString(command, "permission"), getRequires(type));
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            AnnotationMirror subcommand = getMirror(method, SUBCOMMAND);
+            if (subcommand == null) continue;
+            valid &= addMethod(model, method, getString(subcommand, "value").trim());
+        }
+        valid &= checkSiblings(model.root);
+        return valid ? model : null;
+    }
+
+    private boolean addMethod(CommandModel model, ExecutableElement method, String literals) {
+        if (method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC)) {
+            error(method, "@Subcommand methods cannot be private or static");
+            return false;
+        }
+        if (method.getReturnType().getKind() != TypeKind.VOID) {
+            error(method, "@Subcommand methods must return void");
+            return false;
+        }
+
+        // everything is resolved before the tree is changed, so that a broken method doesn't leave nodes behind
+        List<String> keys = new ArrayList<>();
+        List<Supplier<Node>> creators = new ArrayList<>();
+        if (!literals.isEmpty()) {
+            for (String literal : literals.split(" +")) {
+                keys.add("literal " + literal);
+                creators.add(() -> new Node(literal, null, null, method));
+            }
+        }
+        List<String> parameters = new ArrayList<>();
+        for (VariableElement parameter : method.getParameters()) {
+            AnnotationMirror arg = getMirror(parameter, ARG);
+            if (arg == null) {
+                String expression = getInjected(parameter.asType());
+                if (expression == null) {
+                    error(parameter, "Parameters of @Subcommand methods must be annotated with @Arg, or be a CommandContext or CommandSource");
+                    return false;
+                }
+                parameters.add(expression);
+                continue;
+            }
+            String argName = getString(arg, "value");
+            if (argName.isEmpty() || argName.contains(" ")) {
+                error(parameter, "Argument names cannot be empty or contain spaces");
+                return false;
+            }
+            String typeExpression = resolveType(parameter, getString(arg, "type"));
+            if (typeExpression == null) return false;
+            parameters.add("context.getArguments().get(" + keys.size() + ", " + typeExpression + ")");
+            keys.add("argument " + argName + " " + typeExpression);
+            creators.add(() -> new Node(null, argName, typeExpression, method));
+        }
+
+        Node root = model.root;
+        Node node = root;
+        for (int i = 0; i < keys.size(); i++) node = node.child(keys.get(i), creators.get(i));
+        if (node == root) {
+            if (root.method != null) {
+                error(method, "The command is already executed by " + root.method.getSimpleName() + " when no arguments are given");
+                return false;
+            }
+        } else if (node.method != null) {
+            error(method, "This subcommand is already declared by " + node.method.getSimpleName());
+            return false;
+        }
+        node.method = method;
+        // requirements on a CommandBuilder or a CommandNode only apply when that link is executed, so the class requirements are copied onto every method
+        Set<String> requires = new LinkedHashSet<>(model.requires);
+        requires.addAll(getRequires(method));
+        node.requires = new ArrayList<>(requires);
+        node.call = "handler." + method.getSimpleName() + "(" + String.join(", ", parameters) + ")";
+        return true;
+    }
+
+    private boolean checkSiblings(Node node) {
+        boolean valid = true;
+        Node catchAll = null;
+        for (Node child : node.children.values()) {
+            if (child.argument != null && CATCH_ALL_TYPES.contains(child.type)) {
+                catchAll = child;
+                break;
+            }
+        }
+        boolean catchAllSeen = false;
+        Map<String, Node> argumentTypes = new HashMap<>();
+        for (Node child : node.children.values()) {
+            // arguments are tried before literals, in the order they were declared in
+            if (child != catchAll && catchAll != null && (child.literal != null || catchAllSeen)) {
+                error(child.declaredBy, child.describe() + " can never be reached, because " + catchAll.describe() + " accepts any word and is tried first");
+                valid = false;
+            }
+            if (child == catchAll) catchAllSeen = true;
+            if (child.argument == null) continue;
+            Node previous = argumentTypes.putIfAbsent(child.type, child);
+            if (previous != null && previous != catchAll) {
+                error(child.declaredBy, child.describe() + " can never be reached, because " + previous.describe() + " has the same type and is tried first");
+                valid = false;
+            }
+        }
+        for (Node child : node.children.values()) valid &= checkSiblings(child);
+        return valid;
+    }
+
+    private String resolveType(VariableElement parameter, String declared) {
+        TypeMirror parameterType = parameter.asType();
+        if (parameterType.getKind().isPrimitive()) parameterType = types.boxedClass(types.getPrimitiveType(parameterType.getKind())).asType();
+        String fieldReference = declared;
+        if (fieldReference.isEmpty()) {
+            fieldReference = INFERRED_TYPES.get(types.erasure(parameterType).toString());
+            if (fieldReference == null) {
+                error(parameter, "Cannot choose an argument type for " + parameterType + ", so it has to be set with @Arg(type = ...)");
+                return null;
+            }
+        }
+
+        int lastDot = fieldReference.lastIndexOf('.');
+        String owner = lastDot == -1 ? ARGUMENT_TYPE : fieldReference.substring(0, lastDot);
+        String fieldName = fieldReference.substring(lastDot + 1);
+        TypeElement ownerElement = elements.getTypeElement(owner);
+        VariableElement field = null;
+        if (ownerElement != null) {
+            for (VariableElement candidate : ElementFilter.fieldsIn(ownerElement.getEnclosedElements())) {
+                if (candidate.getSimpleName().contentEquals(fieldName) && candidate.getModifiers().contains(Modifier.STATIC)) field = candidate;
+            }
+        }
+        if (field == null) {
+            error(parameter, "Cannot find the argument type " + fieldReference);
+            return null;
+        }
+        TypeMirror parsedType = getParsedType(field.asType());
+        if (parsedType == null) {
+            error(parameter, fieldReference + " is not an ArgumentType");
+            return null;
+        }
+        if (parsedType.getKind() == TypeKind.DECLARED && !types.isAssignable(parsedType, parameterType)) {
+            error(parameter, fieldReference + " parses into " + parsedType + ", which cannot be assigned to " + parameterType);
+            return null;
+        }
+        return lastDot == -1 ? "ArgumentType." + fieldReference : fieldReference;
+    }
+
+    private TypeMirror getParsedType(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) return null;
+        DeclaredType declaredType = (DeclaredType) type;
+        if (((TypeElement) declaredType.asElement()).getQualifiedName().contentEquals(ARGUMENT_TYPE)) {
+            return declaredType.getTypeArguments().isEmpty() ? types.getNoType(TypeKind.NONE) : declaredType.getTypeArguments().get(0);
+        }
+        for (TypeMirror supertype : types.directSupertypes(type)) {
+            TypeMirror parsed = getParsedType(supertype);
+            if (parsed != null) return parsed;
+        }
+        return null;
+    }
+
+    private String getInjected(TypeMirror type) {
+        String name = types.erasure(type).toString();
+        if (name.equals(COMMAND_CONTEXT)) return "context";
+        if (name.equals(COMMAND_SOURCE)) return "context.getSource()";
+        return null;
+    }
+
+    private List<String> getRequires(Element element) {
+        AnnotationMirror requires = getMirror(element, REQUIRES);
+        List<String> calls = new ArrayList<>();
+        if (requires == null) return calls;
+        for (String sender : getStrings(requires, "value")) {
+            calls.add("requires" + sender.charAt(0) + sender.substring(1).toLowerCase(Locale.ROOT) + "()");
+        }
+        return calls;
+    }
+
+    private void write(TypeElement type, CommandModel model) {
+        PackageElement packageElement = elements.getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String className = getGeneratedName(type);
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) source.append("package ").append(packageName).append(";\n\n");
+        source.append("import com.datasiqn.commandcore.argument.type.ArgumentType;\n")
+                .append("import com.datasiqn.commandcore.command.builder.ArgumentBuilder;\n")
+                .append("import com.datasiqn.commandcore.command.builder.CommandBuilder;\n")
+                .append("import com.datasiqn.commandcore.command.builder.LiteralBuilder;\n\n")
+                .append("/**\n * Generated by commandcore-processor from {@link ").append(type.getQualifiedName()).append("}. Do not edit\n */\n")
+                .append("public final class ").append(className).append(" {\n")
+                .append("    private ").append(className).append("() {}\n\n")
+                .append("    /**\n     * Creates the command\n     * @param handler The instance whose methods are executed\n     * @return The command builder\n     */\n")
+                .append("    public static CommandBuilder create(").append(type.getQualifiedName()).append(" handler) {\n")
+                .append("        return new CommandBuilder(").append(quote(model.name)).append(")");
+        String indent = "\n                ";
+        if (!model.description.isEmpty()) source.append(indent).append(".description(").append(quote(model.description)).append(")");
+        if (!model.permission.isEmpty()) source.append(indent).append(".permission(").append(quote(model.permission)).append(")");
+        if (!model.aliases.isEmpty()) {
+            List<String> quoted = new ArrayList<>();
+            for (String alias : model.aliases) quoted.add(quote(alias));
+            source.append(indent).append(".alias(").append(String.join(", ", quoted)).append(")");
+        }
+        for (String requires : model.root.requires) source.append(indent).append(".").append(requires);
+        appendBody(source, model.root, indent);
+        source.append(";\n    }\n}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(type, "Could not write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private void appendBody(StringBuilder source, Node node, String indent) {
+        for (Node child : node.children.values()) {
+            source.append(indent).append(".then(");
+            if (child.literal != null) source.append("LiteralBuilder.literal(").append(quote(child.literal)).append(")");
+            else source.append("ArgumentBuilder.argument(").append(child.type).append(", ").append(quote(child.argument)).append(")");
+            String childIndent = indent + "        ";
+            for (String requires : child.requires) source.append(childIndent).append(".").append(requires);
+            appendBody(source, child, childIndent);
+            source.append(")");
+        }
+        if (node.call != null) source.append(indent).append(".executes(context -> ").append(node.call).append(")");
+    }
+
+    private static String getGeneratedName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName()).append("Builder");
+        for (Element enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+        }
+        return name.toString();
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') quoted.append('\\').append(c);
+            else if (c < ' ' || c > '~') quoted.append(String.format("\\u%04x", (int) c));
+            else quoted.append(c);
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static List<String> concat(String first, List<String> rest) {
+        List<String> all = new ArrayList<>(rest.size() + 1);
+        all.add(first);
+        all.addAll(rest);
+        return all;
+    }
+
+    private static AnnotationMirror getMirror(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) return mirror;
+        }
+        return null;
+    }
+
+    private AnnotationValue getValue(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) return entry.getValue();
+        }
+        throw new IllegalArgumentException("No value named " + name);
+    }
+
+    private String getString(AnnotationMirror mirror, String name) {
+        return (String) getValue(mirror, name).getValue();
+    }
+
+    private List<String> getStrings(AnnotationMirror mirror, String name) {
+        List<String> strings = new ArrayList<>();
+        for (Object value : (List<?>) getValue(mirror, name).getValue()) {
+            Object unwrapped = ((AnnotationValue) value).getValue();
+            // enum constants are given as their elements
+            strings.add(unwrapped instanceof VariableElement ? ((VariableElement) unwrapped).getSimpleName().toString() : (String) unwrapped);
+        }
+        return strings;
+    }
+
+    private void error(Element element, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class CommandModel {
+        private final String name;
+        private final List<String> aliases;
+        private final String description;
+        private final String permission;
+        private final List<String> requires;
+        private final Node root = new Node(null, null, null, null);
+
+        private CommandModel(String name, List<String> aliases, String description, String permission, List<String> requires) {
+            this.name = name;
+            this.aliases = aliases;
+            this.description = description;
+            this.permission = permission;
+            this.requires = requires;
+        }
+    }
+
+    private static final class Node {
+        private final String literal;
+        private final String argument;
+        private final String type;
+        private final ExecutableElement declaredBy;
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private ExecutableElement method;
+        private List<String> requires = new ArrayList<>();
+        private String call;
+
+        private Node(String literal, String argument, String type, ExecutableElement declaredBy) {
+            this.literal = literal;
+            this.argument = argument;
+            this.type = type;
+            this.declaredBy = declaredBy;
+        }
+
+        private Node child(String key, Supplier<Node> creator) {
+            return children.computeIfAbsent(key, k -> creator.get());
+        }
+
+        private String describe() {
+            return literal != null ? "literal " + literal : "argument <" + argument + ">";
+        }
+    }
+}
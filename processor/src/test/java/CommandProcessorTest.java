@@ -0,0 +1,142 @@
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.argument.StringArguments;
+import com.datasiqn.commandcore.command.Command;
+import com.datasiqn.commandcore.command.builder.CommandBuilder;
+import com.datasiqn.commandcore.processor.CommandProcessor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CommandProcessorTest {
+    @Test
+    public void testGeneratesBuilder() throws IOException {
+        List<String> errors = compile("Greet", "@Command(\"greet\") public class Greet {\n" +
+                "    @Subcommand void all(CommandSource source) {}\n" +
+                "    @Subcommand(\"player\") void player(@Arg(\"player\") Player player, @Arg(value = \"times\", type = \"NATURAL_NUMBER\") int times) {}\n" +
+                "}");
+        assertEquals(Collections.emptyList(), errors);
+    }
+
+    @Test
+    public void testDuplicateSubcommand() throws IOException {
+        List<String> errors = compile("Duplicate", "@Command(\"duplicate\") public class Duplicate {\n" +
+                "    @Subcommand(\"a\") void first() {}\n" +
+                "    @Subcommand(\"a\") void second() {}\n" +
+                "}");
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).contains("already declared by first"));
+    }
+
+    @Test
+    public void testUnreachableSiblings() throws IOException {
+        List<String> errors = compile("Unreachable", "@Command(\"unreachable\") public class Unreachable {\n" +
+                "    @Subcommand void name(@Arg(\"name\") String name) {}\n" +
+                "    @Subcommand(\"literal\") void literal() {}\n" +
+                "    @Subcommand(\"players\") void first(@Arg(\"a\") Player a) {}\n" +
+                "    @Subcommand(\"players\") void second(@Arg(\"b\") Player b, @Arg(\"count\") int count) {}\n" +
+                "}");
+        // the players literal is unreachable too, but the arguments under it are still checked
+        assertEquals(3, errors.size());
+        assertTrue(errors.get(0).contains("literal literal can never be reached"));
+        assertTrue(errors.get(1).contains("literal players can never be reached"));
+        assertTrue(errors.get(2).contains("argument <b> can never be reached"));
+    }
+
+    @Test
+    public void testMismatchedType() throws IOException {
+        List<String> errors = compile("Mismatched", "@Command(\"mismatched\") public class Mismatched {\n" +
+                "    @Subcommand void run(@Arg(value = \"count\", type = \"PLAYER\") int count) {}\n" +
+                "}");
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).contains("cannot be assigned to java.lang.Integer"));
+    }
+
+    @Test
+    public void testClassRequirementsApplyToSubcommands() throws Exception {
+        File output = Files.createTempDirectory("processor").toFile();
+        List<String> errors = compile("Secret", "@Command(\"secret\") @Requires(Requires.Sender.PLAYER) public class Secret {\n" +
+                "    public int runs;\n" +
+                "    @Subcommand(\"run\") void run() { runs++; }\n" +
+                "}", output);
+        assertEquals(Collections.emptyList(), errors);
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { output.toURI().toURL() }, CommandProcessorTest.class.getClassLoader())) {
+            Class<?> handlerClass = loader.loadClass("Secret");
+            Object handler = handlerClass.getConstructor().newInstance();
+            Command command = ((CommandBuilder) loader.loadClass("SecretBuilder").getMethod("create", handlerClass).invoke(null, handler)).build();
+
+            List<String> messages = new ArrayList<>();
+            execute(command, mockSender(CommandSender.class, messages), "run");
+            assertEquals(0, handlerClass.getField("runs").getInt(handler));
+            assertEquals(1, messages.size());
+            assertTrue(messages.get(0).contains("A player is required to run this"));
+
+            execute(command, mockSender(Player.class, messages), "run");
+            assertEquals(1, handlerClass.getField("runs").getInt(handler));
+        }
+    }
+
+    private static void execute(Command command, CommandSender sender, String... args) {
+        assertTrue(command.execute(CommandCore.createContext(CommandCore.createSource(sender), command, command.getName(), new StringArguments(Arrays.asList(args)))).isOk());
+    }
+
+    private static <T extends CommandSender> T mockSender(Class<T> type, List<String> messages) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            if (method.getName().equals("sendMessage") && args[0] instanceof String) messages.add((String) args[0]);
+            if (method.getReturnType() == boolean.class) return false;
+            return null;
+        }));
+    }
+
+    private static List<String> compile(String className, String body) throws IOException {
+        return compile(className, body, Files.createTempDirectory("processor").toFile());
+    }
+
+    private static List<String> compile(String className, String body, File output) throws IOException {
+        String source = "import com.datasiqn.commandcore.annotation.*;\n" +
+                "import com.datasiqn.commandcore.command.source.CommandSource;\n" +
+                "import org.bukkit.entity.Player;\n" + body;
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + className + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(output));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(output));
+            List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, Collections.singletonList(file));
+            task.setProcessors(Collections.singletonList(new CommandProcessor()));
+            task.call();
+        }
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) errors.add(diagnostic.getMessage(null));
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,46 @@
+package com.datasiqn.commandcore.benchmark;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Objects;
+
+/**
+ * Installs the {@code MockServer} test fixture as the Bukkit server.
+ * <p>
+ * JMH doesn't allow benchmarks in the default package, which is where the test fixtures are, so they are accessed reflectively.
+ */
+final class BenchmarkFixtures {
+    static final String PLAYER = "bob";
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * Installs the mock server if it hasn't been installed yet
+     */
+    static synchronized void installServer() {
+        if (Bukkit.getServer() != null) return;
+        try {
+            Object builder = Class.forName("MockServer$Builder").getConstructor().newInstance();
+            for (String name : new String[] { PLAYER, "jim", "alice", "steve" }) {
+                builder.getClass().getMethod("addPlayer", String.class).invoke(builder, name);
+            }
+            builder.getClass().getMethod("addWorld", String.class).invoke(builder, "world");
+            builder.getClass().getMethod("addWorld", String.class).invoke(builder, "nether");
+            Bukkit.setServer((Server) builder.getClass().getMethod("build").invoke(builder));
+        } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create the mock server. Are the test classes on the classpath?", e);
+        }
+    }
+
+    /**
+     * Gets the mock player that benchmarks run commands as
+     * @return The mock player
+     */
+    static @NotNull Player getPlayer() {
+        return Objects.requireNonNull(Bukkit.getPlayerExact(PLAYER));
+    }
+}
@@ -0,0 +1,130 @@
+package com.datasiqn.commandcore.benchmark;
+
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.argument.StringArguments;
+import com.datasiqn.commandcore.argument.type.ArgumentType;
+import com.datasiqn.commandcore.command.Command;
+import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.command.TabComplete;
+import com.datasiqn.commandcore.command.builder.ArgumentBuilder;
+import com.datasiqn.commandcore.command.builder.CommandBuilder;
+import com.datasiqn.commandcore.command.builder.CommandNode;
+import com.datasiqn.commandcore.command.builder.LiteralBuilder;
+import com.datasiqn.commandcore.command.source.CommandSource;
+import com.datasiqn.resultapi.None;
+import com.datasiqn.resultapi.Result;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving and executing a command through {@code BuilderCommand}, using trees with different shapes.
+ * The executors don't do anything, so only the dispatch itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+    private static final int WIDE_LITERALS = 256;
+    private static final int DEEP_ARGUMENTS = 8;
+
+    /**
+     * The shape of the command tree
+     */
+    @Param({ "wide", "deep", "greedy", "enum" })
+    public String tree;
+
+    private Command command;
+    private CommandSource source;
+    private List<String> executeArgs;
+    private List<String> tabCompleteArgs;
+
+    @Setup
+    public void setup() {
+        BenchmarkFixtures.installServer();
+        source = CommandCore.createSource(BenchmarkFixtures.getPlayer());
+        switch (tree) {
+            case "wide":
+                command = wideTree();
+                executeArgs = Arrays.asList("option" + (WIDE_LITERALS - 1), "12");
+                tabCompleteArgs = Arrays.asList("option12");
+                break;
+            case "deep":
+                command = deepTree();
+                executeArgs = Arrays.asList("1", "2", "3", "4", "5", "6", "7", "8");
+                tabCompleteArgs = Arrays.asList("1", "2", "3", "4", "");
+                break;
+            case "greedy":
+                command = greedyTree();
+                executeArgs = Arrays.asList("say", "bob", "the", "quick", "brown", "fox", "jumps", "over", "the", "lazy", "dog");
+                tabCompleteArgs = Arrays.asList("say", "");
+                break;
+            case "enum":
+                command = enumTree();
+                executeArgs = Arrays.asList("zombie", "diamond_sword", "true");
+                tabCompleteArgs = Arrays.asList("zombie", "diamond_");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown tree " + tree);
+        }
+        Result<None, List<String>> result = command.execute(createContext(executeArgs));
+        if (result.isError()) throw new IllegalStateException("The " + tree + " tree did not execute: " + result.unwrapError());
+    }
+
+    @Benchmark
+    public Result<None, List<String>> execute() {
+        return command.execute(createContext(executeArgs));
+    }
+
+    @Benchmark
+    public TabComplete tabComplete() {
+        return command.tabComplete(createContext(tabCompleteArgs));
+    }
+
+    private @NotNull CommandContext createContext(@NotNull List<String> args) {
+        // a new context is created each time, just like MainCommand does
+        return CommandCore.createContext(source, command, command.getName(), new StringArguments(args));
+    }
+
+    private static @NotNull Command wideTree() {
+        CommandBuilder builder = new CommandBuilder("wide");
+        for (int i = 0; i < WIDE_LITERALS; i++) {
+            builder.then(LiteralBuilder.literal("option" + i)
+                    .then(ArgumentBuilder.argument(ArgumentType.INTEGER, "value")
+                            .executes(context -> {})));
+        }
+        return builder.build();
+    }
+
+    private static @NotNull Command deepTree() {
+        CommandNode<?> node = ArgumentBuilder.argument(ArgumentType.INTEGER, "arg" + DEEP_ARGUMENTS).executes(context -> {});
+        for (int i = DEEP_ARGUMENTS - 1; i >= 1; i--) {
+            node = ArgumentBuilder.argument(ArgumentType.INTEGER, "arg" + i).then(node);
+        }
+        return new CommandBuilder("deep").then(node).build();
+    }
+
+    private static @NotNull Command greedyTree() {
+        return new CommandBuilder("greedy")
+                .then(LiteralBuilder.literal("say")
+                        .then(ArgumentBuilder.argument(ArgumentType.PLAYER, "player")
+                                .then(ArgumentBuilder.argument(ArgumentType.NAME, "message")
+                                        .executes(context -> {}))))
+                .build();
+    }
+
+    private static @NotNull Command enumTree() {
+        return new CommandBuilder("enum")
+                .then(ArgumentBuilder.argument(ArgumentType.ENTITY, "entity")
+                        .then(ArgumentBuilder.argument(ArgumentType.MATERIAL, "material")
+                                .then(ArgumentBuilder.argument(ArgumentType.BOOLEAN, "flag")
+                                        .executes(context -> {}))))
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.datasiqn.commandcore.benchmark;
+
+import com.datasiqn.commandcore.argument.ArgumentReader;
+import com.datasiqn.commandcore.argument.StringArgumentReader;
+import com.datasiqn.commandcore.argument.type.ArgumentType;
+import com.datasiqn.resultapi.Result;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code StringArgumentReader} and the built-in {@code ArgumentType} parsers on their own
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+    private static final String SENTENCE = "the quick brown fox jumps over the lazy dog again and again";
+    private static final int REPEATS = 12;
+
+    /**
+     * The argument type to parse with
+     */
+    @Param({ "word", "name", "integer", "double", "uuid", "boolean", "entity", "material", "player" })
+    public String type;
+
+    private ArgumentType<?> argumentType;
+    private String input;
+    private String words;
+
+    @Setup
+    public void setup() {
+        BenchmarkFixtures.installServer();
+        switch (type) {
+            case "word": argumentType = ArgumentType.WORD; input = "hello"; break;
+            case "name": argumentType = ArgumentType.NAME; input = SENTENCE; break;
+            case "integer": argumentType = ArgumentType.INTEGER; input = "-1234567"; break;
+            case "double": argumentType = ArgumentType.DOUBLE; input = "3.14159"; break;
+            case "uuid": argumentType = ArgumentType.UUID; input = "123e4567-e89b-12d3-a456-426614174000"; break;
+            case "boolean": argumentType = ArgumentType.BOOLEAN; input = "true"; break;
+            case "entity": argumentType = ArgumentType.ENTITY; input = "zombie"; break;
+            case "material": argumentType = ArgumentType.MATERIAL; input = "diamond_sword"; break;
+            case "player": argumentType = ArgumentType.PLAYER; input = BenchmarkFixtures.PLAYER; break;
+            default: throw new IllegalArgumentException("Unknown type " + type);
+        }
+        if (argumentType.parse(new StringArgumentReader(input)).isError()) throw new IllegalStateException("Could not parse '" + input + "' as " + type);
+        // the input of each type is read as words too, so that words of different lengths are measured
+        words = String.join(" ", Collections.nCopies(REPEATS, input));
+    }
+
+    @Benchmark
+    public Result<?, String> parse() {
+        return argumentType.parse(new StringArgumentReader(input));
+    }
+
+    @Benchmark
+    public void readWords(Blackhole blackhole) {
+        ArgumentReader reader = new StringArgumentReader(words);
+        while (true) {
+            blackhole.consume(reader.nextWord());
+            if (reader.atEnd()) break;
+            reader.next();
+        }
+    }
+}
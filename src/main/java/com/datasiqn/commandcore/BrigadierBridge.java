@@ -0,0 +1,220 @@
+package com.datasiqn.commandcore;
+
+import com.datasiqn.commandcore.brigadier.BrigadierExporter;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.ServerLoadEvent;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Replaces the single greedy argument that the server gives the root command with the tree exported by a {@link BrigadierExporter}.
+ * <p>
+ * On Paper, this is done with {@code CommandRegisteredEvent}, which is accessed reflectively since it doesn't exist in the Spigot API.
+ * On Spigot, the server's dispatcher is found reflectively and patched after the server has loaded.
+ * <p>
+ * The {@code CommandManager}'s version is checked every second. If commands were registered or unregistered since the tree was exported,
+ * the server is told to rebuild its dispatcher, which exports the tree again and resends it to every online player.
+ */
+class BrigadierBridge {
+    private static final String PAPER_EVENT_CLASS = "com.destroystokyo.paper.event.brigadier.CommandRegisteredEvent";
+    private static final long NOT_EXPORTED = -1;
+
+    private final CommandCore commandCore;
+    private final org.bukkit.command.Command bukkitCommand;
+    private final String namespace;
+    private SpigotListener spigotListener;
+    // only accessed from the main thread
+    private long exportedVersion = NOT_EXPORTED;
+
+    private BrigadierBridge(@NotNull CommandCore commandCore, @NotNull org.bukkit.command.Command bukkitCommand, @NotNull String namespace) {
+        this.commandCore = commandCore;
+        this.bukkitCommand = bukkitCommand;
+        this.namespace = namespace;
+    }
+
+    private @NotNull <S> BrigadierExporter<S> createExporter(@NotNull com.mojang.brigadier.Command<S> command, @NotNull SuggestionProvider<S> suggestions) {
+        return new BrigadierExporter<>(command, suggestions, BrigadierBridge::getSender);
+    }
+
+    /**
+     * Registers a new {@code BrigadierBridge} if the server supports it
+     * @param plugin The plugin to register the listener with
+     * @param commandCore The {@code CommandCore} instance
+     * @param command The root command
+     * @return {@code true} if the bridge was registered, {@code false} if the server doesn't use Brigadier
+     */
+    public static boolean register(@NotNull JavaPlugin plugin, @NotNull CommandCore commandCore, @NotNull org.bukkit.command.Command command) {
+        try {
+            Class.forName("com.mojang.brigadier.CommandDispatcher");
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+        BrigadierBridge bridge = new BrigadierBridge(commandCore, command, plugin.getName());
+        PaperListener paperListener;
+        try {
+            paperListener = bridge.new PaperListener(Class.forName(PAPER_EVENT_CLASS).asSubclass(Event.class));
+            Bukkit.getPluginManager().registerEvent(paperListener.eventClass, paperListener, EventPriority.NORMAL, paperListener, plugin, true);
+        } catch (ClassNotFoundException | ClassCastException | NoSuchMethodException e) {
+            bridge.spigotListener = bridge.new SpigotListener();
+            Bukkit.getPluginManager().registerEvents(bridge.spigotListener, plugin);
+        }
+        Bukkit.getScheduler().runTaskTimer(plugin, bridge::checkVersion, 20, 20);
+        return true;
+    }
+
+    private @NotNull LiteralCommandNode<Object> export(@NotNull BrigadierExporter<Object> exporter, @NotNull String label, @NotNull Predicate<Object> requirement) {
+        exportedVersion = commandCore.getCommandManager().getVersion();
+        return exporter.export(label, requirement, commandCore.getCommandManager());
+    }
+
+    private void checkVersion() {
+        long version = commandCore.getCommandManager().getVersion();
+        if (exportedVersion == NOT_EXPORTED || exportedVersion == version) return;
+        // this is set before resyncing, so that a server that doesn't export the tree again isn't resynced every second
+        exportedVersion = version;
+        try {
+            // syncCommands isn't in the API, but every server has had it since commands moved to Brigadier
+            Bukkit.getServer().getClass().getMethod("syncCommands").invoke(Bukkit.getServer());
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            exportedVersion = NOT_EXPORTED;
+            Bukkit.getLogger().warning("[CommandCore] Could not rebuild the server's command dispatcher. Commands that are registered or unregistered from now on won't be exported to clients");
+            return;
+        }
+        // Paper exports the tree again while rebuilding, but Spigot replaces the patched dispatcher with a new one
+        if (spigotListener != null) spigotListener.patch();
+    }
+
+    private static @NotNull CommandSender getSender(@NotNull Object source) {
+        try {
+            return (CommandSender) source.getClass().getMethod("getBukkitSender").invoke(source);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot get the sender of " + source.getClass().getName(), e);
+        }
+    }
+
+    private class PaperListener implements Listener, EventExecutor {
+        private final Class<? extends Event> eventClass;
+        private final Method getCommand;
+        private final Method getCommandLabel;
+        private final Method getBrigadierCommand;
+        private final Method getLiteral;
+        private final Method setLiteral;
+
+        private PaperListener(@NotNull Class<? extends Event> eventClass) throws NoSuchMethodException {
+            this.eventClass = eventClass;
+            this.getCommand = eventClass.getMethod("getCommand");
+            this.getCommandLabel = eventClass.getMethod("getCommandLabel");
+            this.getBrigadierCommand = eventClass.getMethod("getBrigadierCommand");
+            this.getLiteral = eventClass.getMethod("getLiteral");
+            this.setLiteral = eventClass.getMethod("setLiteral", LiteralCommandNode.class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void execute(@NotNull Listener listener, @NotNull Event event) throws EventException {
+            if (!eventClass.isInstance(event)) return;
+            try {
+                if (getCommand.invoke(event) != bukkitCommand) return;
+                // the server's own command runs and completes everything through Bukkit, so it is used as both
+                Object brigadierCommand = getBrigadierCommand.invoke(event);
+                BrigadierExporter<Object> exporter = createExporter((com.mojang.brigadier.Command<Object>) brigadierCommand, (SuggestionProvider<Object>) brigadierCommand);
+                LiteralCommandNode<Object> literal = (LiteralCommandNode<Object>) getLiteral.invoke(event);
+                setLiteral.invoke(event, export(exporter, (String) getCommandLabel.invoke(event), literal.getRequirement()));
+            } catch (IllegalAccessException | InvocationTargetException | ClassCastException e) {
+                throw new EventException(e);
+            }
+        }
+    }
+
+    private class SpigotListener implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onServerLoad(ServerLoadEvent event) {
+            patch();
+        }
+
+        private void patch() {
+            CommandDispatcher<Object> dispatcher = findDispatcher();
+            if (dispatcher == null) {
+                Bukkit.getLogger().warning("[CommandCore] Could not find the server's command dispatcher. Commands will be completed by the server instead");
+                return;
+            }
+            List<String> labels = new ArrayList<>();
+            labels.add(bukkitCommand.getName());
+            labels.addAll(bukkitCommand.getAliases());
+            for (String label : new ArrayList<>(labels)) labels.add(namespace.toLowerCase(Locale.ROOT) + ":" + label);
+            for (String label : labels) replace(dispatcher, label);
+            for (Player player : Bukkit.getOnlinePlayers()) player.updateCommands();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void replace(@NotNull CommandDispatcher<Object> dispatcher, @NotNull String label) {
+            CommandNode<Object> existing = dispatcher.getRoot().getChild(label);
+            if (existing == null || existing.getCommand() == null) return;
+            SuggestionProvider<Object> suggestions = null;
+            for (CommandNode<Object> child : existing.getChildren()) {
+                if (child instanceof ArgumentCommandNode) suggestions = ((ArgumentCommandNode<Object, ?>) child).getCustomSuggestions();
+            }
+            if (suggestions == null) return;
+            BrigadierExporter<Object> exporter = createExporter(existing.getCommand(), suggestions);
+            LiteralCommandNode<Object> exported = export(exporter, label, existing.getRequirement());
+            // adding a node with the same name merges it with the old one, so the old one has to be removed first
+            if (!removeChild(dispatcher.getRoot(), label)) return;
+            dispatcher.getRoot().addChild(exported);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable CommandDispatcher<Object> findDispatcher() {
+        try {
+            Object server = Bukkit.getServer().getClass().getMethod("getServer").invoke(Bukkit.getServer());
+            // the names of these methods are obfuscated, so they are found by their types instead
+            for (Method method : server.getClass().getMethods()) {
+                if (method.getParameterCount() != 0) continue;
+                for (Method inner : method.getReturnType().getMethods()) {
+                    if (inner.getParameterCount() != 0 || inner.getReturnType() != CommandDispatcher.class) continue;
+                    Object commands = method.invoke(server);
+                    return commands == null ? null : (CommandDispatcher<Object>) inner.invoke(commands);
+                }
+            }
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+        return null;
+    }
+
+    private static boolean removeChild(@NotNull CommandNode<?> node, @NotNull String name) {
+        try {
+            for (String fieldName : new String[] { "children", "literals", "arguments" }) {
+                Field field = CommandNode.class.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                ((Map<?, ?>) field.get(node)).remove(name);
+            }
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            return false;
+        }
+        return true;
+    }
+}
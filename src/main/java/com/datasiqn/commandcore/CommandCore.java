@@ -6,8 +6,16 @@ import com.datasiqn.commandcore.command.Command;
 import com.datasiqn.commandcore.command.CommandContext;
 import com.datasiqn.commandcore.command.builder.ArgumentBuilder;
 import com.datasiqn.commandcore.command.builder.CommandBuilder;
+import com.datasiqn.commandcore.command.builder.LiteralBuilder;
 import com.datasiqn.commandcore.command.source.*;
 import com.datasiqn.commandcore.managers.CommandManager;
+import com.datasiqn.commandcore.managers.OfflinePlayerCache;
+import com.datasiqn.commandcore.managers.PlayerIndex;
+import com.datasiqn.commandcore.metrics.CommandMetrics;
+import com.datasiqn.commandcore.metrics.CommandStats;
+import com.datasiqn.commandcore.metrics.LatencyHistogram;
+import com.datasiqn.commandcore.metrics.Phase;
+import com.datasiqn.commandcore.task.TaskScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.BlockCommandSender;
@@ -20,27 +28,56 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Main class of {@code CommandCore}
  */
 public class CommandCore {
     private static CommandCore instance;
-    private final CommandManager commandManager = new CommandManager();
+    private final CommandManager commandManager;
+    private final CommandMetrics metrics;
     private final JavaPlugin plugin;
     private final org.bukkit.command.Command bukkitCommand;
     private final InitOptions options;
+    private final MainCommand mainCommand;
+    private final HelpMenu helpMenu;
+    private final SourceCache sourceCache = new SourceCache();
+    private final OfflinePlayerCache offlinePlayerCache;
+    private final TaskScheduler taskScheduler;
+    private final PlayerIndex playerIndex = new PlayerIndex(Bukkit.getOnlinePlayers());
+    private final Executor asyncExecutor;
+    private final Executor mainThreadExecutor;
+    private volatile boolean asyncTabComplete;
 
     private CommandCore(JavaPlugin plugin, org.bukkit.command.Command command, InitOptions options) {
         this.plugin = plugin;
         this.bukkitCommand = command;
         this.options = options;
+        this.commandManager = new CommandManager(options.ignoreCommandCase());
+        this.mainCommand = new MainCommand(this);
+        this.helpMenu = new HelpMenu(commandManager, command.getName(), options.hasCustomPluginName() ? options.getPluginName() : plugin.getName(), options.getHelpPageSize(), options.createHelpCommand());
+        this.metrics = new CommandMetrics(options.recordMetrics());
+        this.offlinePlayerCache = new OfflinePlayerCache(options.getOfflinePlayerCacheSize());
+        this.taskScheduler = new TaskScheduler(plugin, options.getTaskTickBudget().toNanos());
+        // this only reads the server's own player data, so it never does a profile lookup
+        offlinePlayerCache.seed(Bukkit.getOfflinePlayers());
+        Executor asyncExecutor = options.getAsyncExecutor();
+        this.asyncExecutor = asyncExecutor == null ? task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task) : asyncExecutor;
+        this.mainThreadExecutor = task -> {
+            if (Bukkit.isPrimaryThread()) task.run();
+            else Bukkit.getScheduler().runTask(plugin, task);
+        };
     }
 
     /**
@@ -51,6 +88,38 @@ public class CommandCore {
         return commandManager;
     }
 
+    /**
+     * Gets the index of all online players
+     * @return The player index
+     */
+    public @NotNull PlayerIndex getPlayerIndex() {
+        return playerIndex;
+    }
+
+    /**
+     * Gets the cache of player names and UUIDs that is used by the {@code OFFLINE_PLAYER} argument type
+     * @return The offline player cache
+     */
+    public @NotNull OfflinePlayerCache getOfflinePlayerCache() {
+        return offlinePlayerCache;
+    }
+
+    /**
+     * Gets the scheduler that runs ticking tasks
+     * @return The task scheduler
+     */
+    public @NotNull TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
+    /**
+     * Gets the command metrics
+     * @return The command metrics
+     */
+    public CommandMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Gets the options used to initialize {@code CommandCore}
      * @return The options used to initialize {@code CommandCore}
@@ -59,6 +128,32 @@ public class CommandCore {
         return options;
     }
 
+    /**
+     * Gets the executor that async command executors run on. This is either the executor set in {@link InitOptions.Builder#asyncExecutor(Executor)}, or Bukkit's async scheduler
+     * @return The async executor
+     */
+    public @NotNull Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Gets an executor that runs tasks on the main server thread. If a task is submitted from the main thread, it is run immediately
+     * @return The main thread executor
+     */
+    public @NotNull Executor getMainThreadExecutor() {
+        return mainThreadExecutor;
+    }
+
+    /**
+     * Gets the {@code CommandSource} of {@code sender}. Unlike {@link #createSource(CommandSender) createSource}, the sources of players and the console are cached,
+     * so this returns the same source every time it's called with the same sender
+     * @param sender The sender
+     * @return The source
+     */
+    public @NotNull CommandSource getSource(@NotNull CommandSender sender) {
+        return sourceCache.get(sender);
+    }
+
     /**
      * Sends command usage to {@code sender}
      * @param sender The sender
@@ -68,24 +163,72 @@ public class CommandCore {
     public void sendCommandHelp(@NotNull CommandSender sender, @NotNull String commandName) {
         Command command = commandManager.getCommand(commandName, false);
         if (command == null) throw new IllegalArgumentException("Command " + commandName + " does not exist");
-        sender.sendMessage(ChatColor.GOLD + "Command " + commandName,
+        sender.sendMessage(ChatColor.GOLD + "Command " + command.getName(),
                 ChatColor.GRAY + " Description: " + ChatColor.WHITE + (command.hasDescription() ? command.getDescription() : "No description provided"),
                 ChatColor.GRAY + " Aliases: [" + ChatColor.WHITE + String.join(ChatColor.GRAY + ", " + ChatColor.WHITE, command.getAliases()) + ChatColor.GRAY + "]",
                 ChatColor.GRAY + " Usage(s):");
-        sender.sendMessage(getUsagesFor(commandName, 2).toArray(new String[0]));
+        sender.sendMessage(getUsagesFor(command.getName(), 2).toArray(new String[0]));
     }
 
     /**
-     * Sends the help menu to {@code sender}
+     * Sends the first page of the help menu to {@code sender}
      * @param sender The sender
      */
     public void sendHelpMenu(@NotNull CommandSender sender) {
-        sender.sendMessage(ChatColor.GOLD + (options.hasCustomPluginName() ? options.getPluginName() : plugin.getName()) + " Commands");
-        commandManager.getCommandNames(false).stream().sorted().forEach(name -> {
-            Command command = commandManager.getCommand(name, false);
-            if (!command.hasPermission() || sender.hasPermission(command.getPermissionString())) {
-                String description = command.hasDescription() ? command.getDescription() : "No description provided";
-                sender.sendMessage(ChatColor.YELLOW + " " + name, ChatColor.GRAY + "  ↳ " + description);
+        sendHelpMenu(sender, 1);
+    }
+
+    /**
+     * Sends a page of the help menu to {@code sender}. The help menu only includes commands that {@code sender} has permission to use
+     * @param sender The sender
+     * @param page The page, starting at 1. If it is out of range, the closest page is sent instead
+     * @see InitOptions#getHelpPageSize()
+     */
+    public void sendHelpMenu(@NotNull CommandSender sender, int page) {
+        helpMenu.send(sender, page);
+    }
+
+    /**
+     * Sends the metrics of every command to {@code sender}
+     * @param sender The sender
+     */
+    public void sendStats(@NotNull CommandSender sender) {
+        if (!metrics.isEnabled()) {
+            sender.sendMessage(ChatColor.RED + "Command metrics are disabled");
+            return;
+        }
+        sender.sendMessage(ChatColor.GOLD + "Command Stats" + ChatColor.GRAY + " (runs, denied, usage errors, avg/p99/max)");
+        metrics.getAllStats().stream().sorted(Comparator.comparing(CommandStats::getName)).forEach(stats -> {
+            LatencyHistogram.Snapshot total = stats.getTotal().snapshot();
+            sender.sendMessage(ChatColor.YELLOW + " " + stats.getName() + ChatColor.WHITE + " " + total.getCount() + ChatColor.GRAY + ", " + ChatColor.WHITE + stats.getPermissionDenials() + ChatColor.GRAY + ", " + ChatColor.WHITE + stats.getUsageErrors() + ChatColor.GRAY + ", " + formatTimings(total));
+        });
+    }
+
+    /**
+     * Sends the metrics of a command, including every phase and node path, to {@code sender}
+     * @param sender The sender
+     * @param commandName The name of the command
+     */
+    public void sendCommandStats(@NotNull CommandSender sender, @NotNull String commandName) {
+        CommandStats stats = metrics.getStats(commandName);
+        if (stats == null) {
+            sender.sendMessage(ChatColor.RED + "No stats for " + commandName);
+            return;
+        }
+        sender.sendMessage(ChatColor.GOLD + "Command " + commandName + ChatColor.GRAY + " (avg/p99/max)",
+                ChatColor.GRAY + " Successes: " + ChatColor.WHITE + stats.getSuccesses(),
+                ChatColor.GRAY + " Usage errors: " + ChatColor.WHITE + stats.getUsageErrors(),
+                ChatColor.GRAY + " Permission denials: " + ChatColor.WHITE + stats.getPermissionDenials(),
+                ChatColor.GRAY + " Requirement failures: " + ChatColor.WHITE + stats.getRequirementFailures(),
+                ChatColor.GRAY + " Total: " + formatTimings(stats.getTotal().snapshot()));
+        for (Phase phase : Phase.values()) {
+            sender.sendMessage(ChatColor.GRAY + " " + phase.name().toLowerCase(Locale.ROOT) + ": " + formatTimings(stats.getPhase(phase).snapshot()));
+        }
+        stats.getNodes().entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            sender.sendMessage(ChatColor.YELLOW + "  " + entry.getKey());
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram.Snapshot snapshot = entry.getValue().get(phase).snapshot();
+                if (snapshot.getCount() != 0) sender.sendMessage(ChatColor.GRAY + "   " + phase.name().toLowerCase(Locale.ROOT) + ": " + formatTimings(snapshot));
             }
         });
     }
@@ -94,27 +237,61 @@ public class CommandCore {
      * Generates a formatted string for each usage of a command
      * @param commandName The name of the command
      * @param spaces The # of spaces to add before each usage string
-     * @return A list of formatted strings representing all usages for the command
+     * @return An unmodifiable list of formatted strings representing all usages for the command. These are cached until a command is registered or unregistered
      * @throws IllegalArgumentException If {@code commandName} is not the name of a command
      */
     @NotNull
     public List<String> getUsagesFor(String commandName, int spaces) {
         Command command = commandManager.getCommand(commandName, false);
         if (command == null) throw new IllegalArgumentException("Command " + commandName + " does not exist");
-        List<String> usages = new ArrayList<>();
-        command.getUsages().forEach(usage -> {
-            StringBuilder addedUsage = new StringBuilder();
-            for (int i = 0; i < spaces; i++) {
-                addedUsage.append(" ");
-            }
-            addedUsage.append(ChatColor.YELLOW)
-                    .append("/")
-                    .append(this.bukkitCommand.getName())
-                    .append(" ").append(ChatColor.WHITE).append(commandName)
-                    .append(" ").append(usage);
-            usages.add(addedUsage.toString());
-        });
-        return usages;
+        return helpMenu.getUsages(command, spaces);
+    }
+
+    /**
+     * Gets the tab completions for a full command line. This is safe to call from a thread other than the main server thread.
+     * @param sender The sender that is tab completing
+     * @param buffer The full command line, including the root command. It can optionally start with a {@code /}
+     * @return The tab completions, or null if {@code buffer} isn't for the root command or its tab completions can only be computed on the main thread
+     */
+    public @Nullable List<String> tabCompleteAsync(@NotNull CommandSender sender, @NotNull String buffer) {
+        int labelStart = buffer.startsWith("/") ? 1 : 0;
+        int labelEnd = buffer.indexOf(' ', labelStart);
+        // completing the root command itself is handled by the server
+        if (labelEnd == -1) return null;
+        String label = buffer.substring(labelStart, labelEnd);
+        int namespaceEnd = label.indexOf(':');
+        if (namespaceEnd != -1) {
+            if (!label.substring(0, namespaceEnd).equalsIgnoreCase(plugin.getName())) return null;
+            label = label.substring(namespaceEnd + 1);
+        }
+        if (!label.equalsIgnoreCase(bukkitCommand.getName()) && bukkitCommand.getAliases().stream().noneMatch(label::equalsIgnoreCase)) return null;
+        // this is checked before the buffer is split, so that huge buffers are never copied
+        if (options.isTooLarge(buffer, labelEnd + 1)) return new ArrayList<>();
+        return mainCommand.tabComplete(sender, buffer.substring(labelEnd + 1).split(" ", -1), true);
+    }
+
+    /**
+     * Gets whether tab completions are computed off the main server thread
+     * @return {@code true} if async tab completion is enabled and supported by the server, {@code false} otherwise
+     */
+    boolean hasAsyncTabComplete() {
+        return asyncTabComplete;
+    }
+
+    private static @NotNull String formatTimings(@NotNull LatencyHistogram.Snapshot snapshot) {
+        return ChatColor.WHITE + formatNanos((long) snapshot.getMean()) + ChatColor.GRAY + "/" + ChatColor.WHITE + formatNanos(snapshot.getPercentile(99)) + ChatColor.GRAY + "/" + ChatColor.WHITE + formatNanos(snapshot.getMax());
+    }
+
+    private static @NotNull String formatNanos(long nanos) {
+        return String.format(Locale.ROOT, "%.3fms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Gets whether {@code CommandCore} has been initialized with {@link #init(JavaPlugin, InitOptions) init}
+     * @return {@code true} if it has been initialized, {@code false} otherwise
+     */
+    public static boolean isInitialized() {
+        return instance != null;
     }
 
     /**
@@ -170,23 +347,45 @@ public class CommandCore {
         }
 
         instance = new CommandCore(plugin, command, options);
-        MainCommand mainCommand = new MainCommand(instance);
-        command.setExecutor(mainCommand);
-        command.setTabCompleter(mainCommand);
+        command.setExecutor(instance.mainCommand);
+        command.setTabCompleter(instance.mainCommand);
+        Bukkit.getPluginManager().registerEvents(instance.sourceCache, plugin);
+        Bukkit.getPluginManager().registerEvents(instance.playerIndex, plugin);
+        Bukkit.getPluginManager().registerEvents(instance.offlinePlayerCache, plugin);
+        Bukkit.getPluginManager().registerEvents(instance.taskScheduler, plugin);
+        instance.asyncTabComplete = options.useAsyncTabComplete() && PaperTabCompleteListener.register(plugin, instance);
+        if (options.useAsyncTabComplete() && !instance.asyncTabComplete) {
+            Bukkit.getLogger().warning("[CommandCore] Async tab completion is enabled, but this server doesn't support it. Tab completions will be computed on the main thread instead");
+        }
+        if (options.exportBrigadier() && !BrigadierBridge.register(plugin, instance, command)) {
+            Bukkit.getLogger().warning("[CommandCore] Brigadier export is enabled, but this server doesn't use Brigadier. Commands will be completed by the server instead");
+        }
 
         if (options.createHelpCommand()) instance.commandManager.registerCommand(new CommandBuilder("help")
                 .description("Shows the help menu")
                 .then(ArgumentBuilder.argument(ArgumentType.COMMAND, "command")
                         .executes(context -> {
                             Command cmd = context.getArguments().get(0, ArgumentType.COMMAND);
-                            String commandName = context.getArguments().getString(0);
                             if (!context.getSource().hasPermission(cmd.getPermissionString())) {
-                                context.getSource().sendMessage(ChatColor.RED + "No help for " + commandName);
+                                context.getSource().sendMessage(ChatColor.RED + "No help for " + cmd.getName());
                                 return;
                             }
-                            instance.sendCommandHelp(context.getSource().getSender(), commandName);
+                            instance.sendCommandHelp(context.getSource().getSender(), cmd.getName());
                         }))
+                .then(ArgumentBuilder.argument(ArgumentType.NATURAL_NUMBER, "page")
+                        .executes(context -> instance.sendHelpMenu(context.getSource().getSender(), context.getArguments().get(0, ArgumentType.NATURAL_NUMBER))))
                 .executes(context -> instance.sendHelpMenu(context.getSource().getSender())));
+        if (options.createStatsCommand()) instance.commandManager.registerCommand(new CommandBuilder("stats")
+                .description("Shows how long commands take to run")
+                .permission("commandcore.stats")
+                .then(ArgumentBuilder.argument(ArgumentType.COMMAND, "command")
+                        .executes(context -> instance.sendCommandStats(context.getSource().getSender(), context.getArguments().get(0, ArgumentType.COMMAND).getName())))
+                .then(LiteralBuilder.literal("reset")
+                        .executes(context -> {
+                            instance.metrics.reset();
+                            context.getSource().sendMessage(ChatColor.GREEN + "Reset all command metrics");
+                        }))
+                .executes(context -> instance.sendStats(context.getSource().getSender())));
 
         return instance;
     }
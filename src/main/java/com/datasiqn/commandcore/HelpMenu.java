@@ -0,0 +1,154 @@
+package com.datasiqn.commandcore;
+
+import com.datasiqn.commandcore.command.Command;
+import com.datasiqn.commandcore.managers.CommandManager;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the help menu and command usages, and caches them until a command is registered or unregistered.
+ * <p>
+ * Help pages are cached per permission profile, which is the set of command permissions that a sender has.
+ * The profile is checked every time, so a sender's permissions changing never shows them a stale help menu.
+ */
+final class HelpMenu {
+    // usages are almost always rendered with 1 or 2 spaces, so only those are cached
+    private static final int CACHED_SPACES = 3;
+
+    private final CommandManager commandManager;
+    private final String rootCommand;
+    private final String title;
+    private final int pageSize;
+    private final boolean helpCommand;
+    private volatile Cache cache;
+
+    /**
+     * Creates a new {@code HelpMenu}
+     * @param commandManager The commands to show
+     * @param rootCommand The name of the root command
+     * @param title The title of the help menu
+     * @param pageSize The number of commands per page, or 0 or less to show every command on one page
+     * @param helpCommand Whether the help command is registered. If it isn't, pages don't tell senders how to get to the next page
+     */
+    HelpMenu(@NotNull CommandManager commandManager, @NotNull String rootCommand, @NotNull String title, int pageSize, boolean helpCommand) {
+        this.commandManager = commandManager;
+        this.rootCommand = rootCommand;
+        this.title = title;
+        this.pageSize = pageSize;
+        this.helpCommand = helpCommand;
+    }
+
+    /**
+     * Sends a page of the help menu to {@code sender}
+     * @param sender The sender
+     * @param page The page, starting at 1. Pages that are out of range are clamped
+     */
+    void send(@NotNull CommandSender sender, int page) {
+        Cache cache = getCache();
+        BitSet profile = new BitSet(cache.permissions.length);
+        for (int i = 0; i < cache.permissions.length; i++) {
+            if (sender.hasPermission(cache.permissions[i])) profile.set(i);
+        }
+        List<String[]> pages = cache.pages.computeIfAbsent(profile, cache::renderPages);
+        sender.sendMessage(pages.get(Math.max(0, Math.min(page, pages.size()) - 1)));
+    }
+
+    /**
+     * Gets the rendered usages of a command
+     * @param command The command
+     * @param spaces The # of spaces to add before each usage string
+     * @return An unmodifiable list of rendered usages
+     */
+    @NotNull List<String> getUsages(@NotNull Command command, int spaces) {
+        if (spaces < 0 || spaces >= CACHED_SPACES) return renderUsages(command, spaces);
+        Cache cache = getCache();
+        return cache.usages.get(spaces).computeIfAbsent(command, key -> renderUsages(key, spaces));
+    }
+
+    private @NotNull List<String> renderUsages(@NotNull Command command, int spaces) {
+        List<String> usages = new ArrayList<>();
+        StringBuilder indent = new StringBuilder();
+        for (int i = 0; i < spaces; i++) indent.append(" ");
+        String prefix = indent.toString() + ChatColor.YELLOW + "/" + rootCommand + " " + ChatColor.WHITE + command.getName() + " ";
+        for (String usage : command.getUsages()) usages.add(prefix + usage);
+        return Collections.unmodifiableList(usages);
+    }
+
+    private @NotNull Cache getCache() {
+        long version = commandManager.getVersion();
+        Cache cache = this.cache;
+        if (cache == null || cache.version != version) {
+            // if two threads rebuild at the same time, they both build the same cache, so it doesn't matter which one is kept
+            cache = new Cache(version);
+            this.cache = cache;
+        }
+        return cache;
+    }
+
+    private final class Cache {
+        private final long version;
+        private final String[] permissions;
+        private final List<Entry> entries = new ArrayList<>();
+        private final Map<BitSet, List<String[]>> pages = new ConcurrentHashMap<>();
+        private final List<Map<Command, List<String>>> usages = new ArrayList<>(CACHED_SPACES);
+
+        private Cache(long version) {
+            this.version = version;
+            TreeSet<String> sortedNames = new TreeSet<>(commandManager.getCommandNames(false));
+            TreeSet<String> permissions = new TreeSet<>();
+            for (String name : sortedNames) {
+                Command command = commandManager.getCommand(name, false);
+                if (command != null && command.hasPermission()) permissions.add(command.getPermissionString());
+            }
+            this.permissions = permissions.toArray(new String[0]);
+            List<String> permissionList = new ArrayList<>(permissions);
+            for (String name : sortedNames) {
+                Command command = commandManager.getCommand(name, false);
+                if (command == null) continue;
+                String description = command.hasDescription() ? command.getDescription() : "No description provided";
+                int permission = command.hasPermission() ? permissionList.indexOf(command.getPermissionString()) : -1;
+                entries.add(new Entry(permission, ChatColor.YELLOW + " " + name, ChatColor.GRAY + "  ↳ " + description));
+            }
+            for (int i = 0; i < CACHED_SPACES; i++) usages.add(new ConcurrentHashMap<>());
+        }
+
+        private @NotNull List<String[]> renderPages(@NotNull BitSet profile) {
+            List<Entry> visible = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (entry.permission == -1 || profile.get(entry.permission)) visible.add(entry);
+            }
+            int perPage = pageSize <= 0 ? Math.max(visible.size(), 1) : pageSize;
+            int pageCount = Math.max(1, (visible.size() + perPage - 1) / perPage);
+            List<String[]> pages = new ArrayList<>(pageCount);
+            for (int page = 0; page < pageCount; page++) {
+                List<String> lines = new ArrayList<>();
+                lines.add(ChatColor.GOLD + title + " Commands" + (pageCount == 1 ? "" : ChatColor.GRAY + " (page " + (page + 1) + "/" + pageCount + ")"));
+                for (Entry entry : visible.subList(page * perPage, Math.min(visible.size(), (page + 1) * perPage))) {
+                    Collections.addAll(lines, entry.lines);
+                }
+                if (helpCommand && page + 1 < pageCount) lines.add(ChatColor.GRAY + "Use /" + rootCommand + " help " + (page + 2) + " for the next page");
+                pages.add(lines.toArray(new String[0]));
+            }
+            return Collections.unmodifiableList(pages);
+        }
+    }
+
+    private static final class Entry {
+        private final int permission;
+        private final String[] lines;
+
+        private Entry(int permission, @NotNull String @NotNull ... lines) {
+            this.permission = permission;
+            this.lines = lines;
+        }
+    }
+}
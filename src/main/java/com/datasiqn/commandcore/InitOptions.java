@@ -6,10 +6,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -20,6 +22,20 @@ public class InitOptions {
     private final String rootCommand;
     private final String pluginName;
     private final boolean helpCommand;
+    private final boolean asyncTabComplete;
+    private final boolean exportBrigadier;
+    private final boolean adaptiveDispatch;
+    private final int maxInputLength;
+    private final int maxArguments;
+    private final int maxDepth;
+    private final Duration tabCompleteInterval;
+    private final boolean metrics;
+    private final boolean ignoreCommandCase;
+    private final int helpPageSize;
+    private final int offlinePlayerCacheSize;
+    private final Duration taskTickBudget;
+    private final boolean statsCommand;
+    private final Executor asyncExecutor;
     private final List<String> aliases;
     private final Set<Warning> warnings;
 
@@ -31,6 +47,20 @@ public class InitOptions {
     public InitOptions(@NotNull Builder builder) {
         this.rootCommand = builder.rootCommand;
         this.helpCommand = builder.helpCommand;
+        this.asyncTabComplete = builder.asyncTabComplete;
+        this.asyncExecutor = builder.asyncExecutor;
+        this.exportBrigadier = builder.exportBrigadier;
+        this.adaptiveDispatch = builder.adaptiveDispatch;
+        this.maxInputLength = builder.maxInputLength;
+        this.maxArguments = builder.maxArguments;
+        this.maxDepth = builder.maxDepth;
+        this.tabCompleteInterval = builder.tabCompleteInterval;
+        this.metrics = builder.metrics;
+        this.ignoreCommandCase = builder.ignoreCommandCase;
+        this.helpPageSize = builder.helpPageSize;
+        this.offlinePlayerCacheSize = builder.offlinePlayerCacheSize;
+        this.taskTickBudget = builder.taskTickBudget;
+        this.statsCommand = builder.statsCommand;
         this.pluginName = builder.pluginName;
         this.aliases = Arrays.asList(builder.aliases);
         this.warnings = Arrays.stream(builder.warnings).collect(Collectors.toSet());
@@ -97,6 +127,150 @@ public class InitOptions {
         return helpCommand;
     }
 
+    /**
+     * Gets whether tab completions should be computed off the main server thread when the server supports it
+     * @return {@code true} if tab completions should be computed asynchronously, {@code false} otherwise
+     */
+    public boolean useAsyncTabComplete() {
+        return asyncTabComplete;
+    }
+
+    /**
+     * Gets whether the command tree should be exported to the server's Brigadier dispatcher, so that clients can parse and complete commands on their own
+     * @return {@code true} if the command tree should be exported, {@code false} otherwise
+     */
+    public boolean exportBrigadier() {
+        return exportBrigadier;
+    }
+
+    /**
+     * Gets whether argument nodes should be reordered by how often they match
+     * @return {@code true} if argument nodes should be reordered, {@code false} otherwise
+     */
+    public boolean useAdaptiveDispatch() {
+        return adaptiveDispatch;
+    }
+
+    /**
+     * Gets the maximum number of characters after the root command. Longer input is rejected before it is parsed
+     * @return The maximum number of characters
+     */
+    public int getMaxInputLength() {
+        return maxInputLength;
+    }
+
+    /**
+     * Gets the maximum number of arguments after the root command, including the name of the command. Input with more arguments is rejected before it is parsed
+     * @return The maximum number of arguments
+     */
+    public int getMaxArguments() {
+        return maxArguments;
+    }
+
+    /**
+     * Checks whether a line is longer than {@link #getMaxInputLength()}, or has more arguments than {@link #getMaxArguments()}, without copying it
+     * @param line The line, after the root command
+     * @param start The index to start at
+     * @return {@code true} if the line is too large, {@code false} otherwise
+     */
+    public boolean isTooLarge(@NotNull String line, int start) {
+        if (line.length() - start > maxInputLength) return true;
+        int arguments = 1;
+        for (int i = start; i < line.length(); i++) {
+            if (line.charAt(i) == ' ' && ++arguments > maxArguments) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the arguments after the root command are longer than {@link #getMaxInputLength()}, or more than {@link #getMaxArguments()}
+     * @param args The arguments after the root command
+     * @return {@code true} if the arguments are too large, {@code false} otherwise
+     */
+    public boolean isTooLarge(@NotNull String @NotNull [] args) {
+        if (args.length > maxArguments) return true;
+        // the arguments are separated by single spaces
+        int length = args.length - 1;
+        for (String arg : args) {
+            length += arg.length();
+            if (length > maxInputLength) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the maximum number of nodes that are parsed for a single command
+     * @return The maximum depth
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Gets the minimum time between two tab completions of the same sender
+     * @return The minimum time, or {@link Duration#ZERO} if tab completions aren't limited
+     */
+    public @NotNull Duration getTabCompleteInterval() {
+        return tabCompleteInterval;
+    }
+
+    /**
+     * Gets the number of commands shown on each page of the help menu
+     * @return The number of commands per page, or {@code 0} if every command is shown on one page
+     */
+    public int getHelpPageSize() {
+        return helpPageSize;
+    }
+
+    /**
+     * Gets the maximum number of players whose name and UUID are cached for the {@code OFFLINE_PLAYER} argument type
+     * @return The maximum number of cached players
+     */
+    public int getOfflinePlayerCacheSize() {
+        return offlinePlayerCacheSize;
+    }
+
+    /**
+     * Gets how long ticking tasks can run for each tick
+     * @return The tick budget
+     */
+    public @NotNull Duration getTaskTickBudget() {
+        return taskTickBudget;
+    }
+
+    /**
+     * Gets whether command names and aliases should be matched ignoring case or not
+     * @return {@code true} if command names should be matched ignoring case, {@code false} otherwise
+     */
+    public boolean ignoreCommandCase() {
+        return ignoreCommandCase;
+    }
+
+    /**
+     * Gets whether command metrics should be recorded or not
+     * @return {@code true} if metrics should be recorded, {@code false} otherwise
+     */
+    public boolean recordMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets whether a stats command should be generated or not
+     * @return {@code true} if a stats command should be generated, {@code false} otherwise
+     */
+    public boolean createStatsCommand() {
+        return statsCommand;
+    }
+
+    /**
+     * Gets the executor that async command executors run on
+     * @return The executor, or null if async command executors should run on Bukkit's async scheduler
+     * @see com.datasiqn.commandcore.command.builder.CommandLink#executesAsync(com.datasiqn.commandcore.command.builder.CommandLink.AsyncExecutor) executesAsync
+     */
+    public @Nullable Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
     /**
      * Builder class to create an {@code InitOptions} object
      */
@@ -104,6 +278,20 @@ public class InitOptions {
         private final String rootCommand;
         private String pluginName;
         private boolean helpCommand = true;
+        private boolean asyncTabComplete;
+        private boolean exportBrigadier;
+        private boolean adaptiveDispatch;
+        private int maxInputLength = 4096;
+        private int maxArguments = 256;
+        private int maxDepth = 64;
+        private Duration tabCompleteInterval = Duration.ZERO;
+        private boolean metrics = true;
+        private boolean ignoreCommandCase;
+        private int helpPageSize = 10;
+        private int offlinePlayerCacheSize = 10_000;
+        private Duration taskTickBudget = Duration.ofMillis(5);
+        private boolean statsCommand;
+        private Executor asyncExecutor;
         private String[] aliases = new String[0];
         private Warning[] warnings = new Warning[0];
 
@@ -125,6 +313,177 @@ public class InitOptions {
             return this;
         }
 
+        /**
+         * Sets the number of commands shown on each page of the help menu. By default, this is {@code 10}
+         * @param pageSize The number of commands per page, or {@code 0} to show every command on one page
+         * @return The builder, for chaining
+         * @throws IllegalArgumentException If {@code pageSize} is negative
+         */
+        public Builder helpPageSize(int pageSize) {
+            if (pageSize < 0) throw new IllegalArgumentException("pageSize cannot be negative");
+            this.helpPageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of players whose name and UUID are cached for the {@code OFFLINE_PLAYER} argument type.
+         * When the cache is full, the players that were seen least recently are removed. By default, this is {@code 10000}
+         * @param size The maximum number of cached players
+         * @return The builder, for chaining
+         * @throws IllegalArgumentException If {@code size} is less than 1
+         */
+        public Builder offlinePlayerCacheSize(int size) {
+            if (size < 1) throw new IllegalArgumentException("size must be at least 1");
+            this.offlinePlayerCacheSize = size;
+            return this;
+        }
+
+        /**
+         * Sets how long the steps of all {@link com.datasiqn.commandcore.command.builder.CommandLink#executesOverTicks(com.datasiqn.commandcore.command.builder.CommandLink.TickingExecutor) ticking tasks} can run for each tick, in total.
+         * A tick is 50 milliseconds long, so this should be well below that. By default, this is 5 milliseconds
+         * @param budget The tick budget
+         * @return The builder, for chaining
+         * @throws IllegalArgumentException If {@code budget} is not positive
+         */
+        public Builder taskTickBudget(@NotNull Duration budget) {
+            if (budget.isNegative() || budget.isZero()) throw new IllegalArgumentException("budget must be positive");
+            this.taskTickBudget = budget;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of characters after the root command. Longer commands are rejected, and longer tab completions get no suggestions, before anything is parsed.
+         * By default, this is {@code 4096}
+         * @param length The maximum number of characters
+         * @return The builder, for chaining
+         * @throws IllegalArgumentException If {@code length} is less than 1
+         */
+        public Builder maxInputLength(int length) {
+            if (length < 1) throw new IllegalArgumentException("length must be at least 1");
+            this.maxInputLength = length;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of arguments after the root command, including the name of the command.
+         * Commands with more arguments are rejected, and tab completions with more arguments get no suggestions, before anything is parsed. By default, this is {@code 256}
+         * @param arguments The maximum number of arguments
+         * @return The builder, for chaining
+         * @throws IllegalArgumentException If {@code arguments} is less than 1
+         */
+        public Builder maxArguments(int arguments) {
+            if (arguments < 1) throw new IllegalArgumentException("arguments must be at least 1");
+            this.maxArguments = arguments;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of nodes that are parsed for a single command. Parsing stops with an error once this many nodes have matched.
+         * It only applies to commands that are registered after {@code CommandCore} is initialized. By default, this is {@code 64}
+         * @param depth The maximum depth
+         * @return The builder, for chaining
+         * @throws IllegalArgumentException If {@code depth} is less than 1
+         */
+        public Builder maxDepth(int depth) {
+            if (depth < 1) throw new IllegalArgumentException("depth must be at least 1");
+            this.maxDepth = depth;
+            return this;
+        }
+
+        /**
+         * Sets the minimum time between two tab completions of the same sender that need to parse arguments.
+         * Tab completions that come in sooner are served the sender's last tab completions, narrowed down to what they have typed since, so a client that sends them too quickly can't keep the server busy.
+         * By default, tab completions aren't limited
+         * @param interval The minimum time, or {@link Duration#ZERO} to not limit tab completions
+         * @return The builder, for chaining
+         * @throws IllegalArgumentException If {@code interval} is negative
+         */
+        public Builder tabCompleteInterval(@NotNull Duration interval) {
+            if (interval.isNegative()) throw new IllegalArgumentException("interval cannot be negative");
+            this.tabCompleteInterval = interval;
+            return this;
+        }
+
+        /**
+         * Sets whether command names and aliases should be matched ignoring case or not, so that {@code /root Help} runs the {@code help} command.
+         * If they are, two commands can't have names or aliases that only differ in case
+         * @param flag {@code true} if command names should be matched ignoring case, {@code false} if they shouldn't
+         * @return The builder, for chaining
+         */
+        public Builder ignoreCommandCase(boolean flag) {
+            this.ignoreCommandCase = flag;
+            return this;
+        }
+
+        /**
+         * Sets whether command metrics should be recorded or not. Recording metrics doesn't allocate, so it is enabled by default
+         * @param flag {@code true} if metrics should be recorded, {@code false} if they shouldn't
+         * @return The builder, for chaining
+         * @see CommandCore#getMetrics()
+         */
+        public Builder metrics(boolean flag) {
+            this.metrics = flag;
+            return this;
+        }
+
+        /**
+         * Sets whether a stats command should be created or not. It shows the recorded metrics, and requires the permission {@code commandcore.stats}
+         * @param flag {@code true} if a stats command should be created, {@code false} if it shouldn't
+         * @return The builder, for chaining
+         */
+        public Builder createStatsCommand(boolean flag) {
+            this.statsCommand = flag;
+            return this;
+        }
+
+        /**
+         * Sets whether tab completions should be computed off the main server thread.
+         * This only has an effect on servers that have Paper's {@code AsyncTabCompleteEvent}, and falls back to the main thread for any {@code ArgumentType} that {@link com.datasiqn.commandcore.argument.type.ArgumentType#requiresMainThread() requires it}
+         * @param flag {@code true} if tab completions should be computed asynchronously, {@code false} if they shouldn't
+         * @return The builder, for chaining
+         */
+        public Builder asyncTabComplete(boolean flag) {
+            this.asyncTabComplete = flag;
+            return this;
+        }
+
+        /**
+         * Sets whether the command tree should be exported to the server's Brigadier dispatcher, so that clients can parse and complete literals and numbers without asking the server.
+         * Arguments with dynamic suggestions are still completed by the server. The tree is exported when the server loads.
+         * If commands are registered or unregistered afterwards, the server's command dispatcher is rebuilt within a second, which exports the tree again and resends it to every online player
+         * @param flag {@code true} if the command tree should be exported, {@code false} if it shouldn't
+         * @return The builder, for chaining
+         * @see com.datasiqn.commandcore.brigadier.BrigadierExporter
+         */
+        public Builder exportBrigadier(boolean flag) {
+            this.exportBrigadier = flag;
+            return this;
+        }
+
+        /**
+         * Sets whether argument nodes should be reordered by how often they match, so that the most used branches are parsed first.
+         * A node is only moved in front of siblings that can never parse the same input, so this never changes which node an argument is parsed by.
+         * It only applies to commands that are registered after {@code CommandCore} is initialized
+         * @param flag {@code true} if argument nodes should be reordered, {@code false} if they shouldn't
+         * @return The builder, for chaining
+         * @see com.datasiqn.commandcore.argument.type.ArgumentType#getWordKind()
+         */
+        public Builder adaptiveDispatch(boolean flag) {
+            this.adaptiveDispatch = flag;
+            return this;
+        }
+
+        /**
+         * Sets the executor that async command executors run on. By default, they run on Bukkit's async scheduler
+         * @param executor The executor
+         * @return The builder, for chaining
+         * @see com.datasiqn.commandcore.command.builder.CommandLink#executesAsync(com.datasiqn.commandcore.command.builder.CommandLink.AsyncExecutor) executesAsync
+         */
+        public Builder asyncExecutor(@NotNull Executor executor) {
+            this.asyncExecutor = executor;
+            return this;
+        }
+
         /**
          * Sets the custom plugin name that appears when showing the help screen
          * @param name The custom plugin name
@@ -2,8 +2,11 @@ package com.datasiqn.commandcore;
 
 import com.datasiqn.commandcore.argument.StringArguments;
 import com.datasiqn.commandcore.command.Command;
+import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.command.StaticSuggestions;
 import com.datasiqn.commandcore.command.TabComplete;
 import com.datasiqn.commandcore.managers.CommandManager;
+import com.datasiqn.commandcore.metrics.CommandMetrics;
 import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
 import org.bukkit.ChatColor;
@@ -13,6 +16,7 @@ import org.bukkit.command.TabCompleter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -20,27 +24,41 @@ import java.util.List;
 
 class MainCommand implements CommandExecutor, TabCompleter {
     private final CommandCore commandCore;
+    private final InitOptions options;
+    private final TabCompleteDebouncer tabCompleteDebouncer;
 
     public MainCommand(CommandCore commandCore) {
         this.commandCore = commandCore;
+        this.options = commandCore.getOptions();
+        Duration interval = options.getTabCompleteInterval();
+        this.tabCompleteDebouncer = interval.isZero() ? null : new TabCompleteDebouncer(interval);
     }
 
     @Override
     public boolean onCommand(@NotNull CommandSender sender, @NotNull org.bukkit.command.Command command, @NotNull String label, @NotNull String @NotNull [] args) {
+        if (options.isTooLarge(args)) {
+            sender.sendMessage(ChatColor.RED + "That command is too long");
+            return true;
+        }
         if (args.length >= 1) {
-            CommandManager manager = commandCore.getCommandManager();
-            Command cmd = manager.getCommand(args[0], manager.isAlias(args[0]));
+            Command cmd = commandCore.getCommandManager().findCommand(args[0]);
             if (cmd == null) {
                 commandCore.sendHelpMenu(sender);
                 return true;
             }
+            CommandMetrics metrics = commandCore.getMetrics();
             if (cmd.getPermissionString() != null && !sender.hasPermission(cmd.getPermissionString())) {
+                metrics.recordPermissionDenial(cmd.getName());
                 sender.sendMessage(ChatColor.RED + "You do not have permission to use this command");
                 return true;
             }
+            long start = System.nanoTime();
             List<String> listArgs = new ArrayList<>(Arrays.asList(args));
             listArgs.remove(0);
-            Result<None, List<String>> output = cmd.execute(CommandCore.createContext(CommandCore.createSource(sender), cmd, args[0], new StringArguments(listArgs)));
+            Result<None, List<String>> output = cmd.execute(CommandCore.createContext(commandCore.getSource(sender), cmd, args[0], new StringArguments(listArgs)));
+            metrics.recordTotal(cmd.getName(), System.nanoTime() - start);
+            if (output.isError()) metrics.recordUsageError(cmd.getName());
+            else metrics.recordSuccess(cmd.getName());
             output.ifError(messages -> {
                 for (String message : messages) sender.sendMessage(ChatColor.RED + message);
                 sender.sendMessage(ChatColor.GRAY + "Usage(s):");
@@ -55,39 +73,91 @@ class MainCommand implements CommandExecutor, TabCompleter {
     @Nullable
     @Override
     public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull org.bukkit.command.Command command, @NotNull String label, @NotNull String @NotNull [] args) {
-        List<String> tabComplete = new ArrayList<>();
-        String matchingString = args[args.length - 1];
+        return tabComplete(sender, args, false);
+    }
+
+    /**
+     * Gets the tab completions for the arguments of the root command
+     * @param sender The sender
+     * @param args The arguments of the root command
+     * @param async Whether this is being called from a thread other than the main server thread
+     * @return The tab completions, or null if {@code async} is {@code true} and the tab completions can only be computed on the main thread
+     */
+    @Nullable
+    public List<String> tabComplete(@NotNull CommandSender sender, @NotNull String @NotNull [] args, boolean async) {
+        if (options.isTooLarge(args)) return new ArrayList<>();
+        if (args.length > 1 && tabCompleteDebouncer != null) {
+            // when tab completions are async, every one of them goes through the async path first, so that's the only place they're limited
+            return tabCompleteDebouncer.complete(sender, args, async || !commandCore.hasAsyncTabComplete(), () -> computeTabComplete(sender, args, async));
+        }
+        return computeTabComplete(sender, args, async);
+    }
+
+    private @Nullable List<String> computeTabComplete(@NotNull CommandSender sender, @NotNull String @NotNull [] args, boolean async) {
         CommandManager manager = commandCore.getCommandManager();
+        TabComplete complete;
         if (args.length == 1) {
-            manager.getCommandNames(true).forEach(name -> {
-                Command cmd = manager.getCommand(name, manager.isAlias(name));
-                if (cmd.getPermissionString() == null || sender.hasPermission(cmd.getPermissionString())) tabComplete.add(name);
-            });
+            // the names are already sorted and filtered by prefix, so they only need to be filtered by permission
+            List<String> tabComplete = new ArrayList<>();
+            for (String name : manager.getCommandNamesWithPrefix(args[0])) {
+                Command cmd = manager.findCommand(name);
+                if (cmd != null && (cmd.getPermissionString() == null || sender.hasPermission(cmd.getPermissionString()))) tabComplete.add(name);
+            }
+            return tabComplete;
         } else {
-            Command cmd = manager.getCommand(args[0], manager.isAlias(args[0]));
+            Command cmd = manager.findCommand(args[0]);
             if (cmd == null || (cmd.getPermissionString() != null && !sender.hasPermission(cmd.getPermissionString()))) return new ArrayList<>();
             List<String> listArgs = new ArrayList<>(Arrays.asList(args));
             listArgs.remove(0);
-            TabComplete complete = cmd.tabComplete(CommandCore.createContext(CommandCore.createSource(sender), cmd, args[0], new StringArguments(listArgs)));
-            matchingString = complete.getMatchingString();
-            tabComplete.addAll(complete.values());
+            CommandContext context = CommandCore.createContext(commandCore.getSource(sender), cmd, args[0], new StringArguments(listArgs));
+            complete = async ? cmd.tabCompleteAsync(context) : cmd.tabComplete(context);
+            if (complete == null) return null;
         }
+        return getPartialMatches(complete);
+    }
 
-        List<String> partialMatches = new ArrayList<>();
+    private @NotNull List<String> getPartialMatches(@NotNull TabComplete complete) {
+        String matchingString = complete.getMatchingString();
+        List<String> dynamicValues = complete.getDynamicValues();
+        List<StaticSuggestions> staticSuggestions = complete.getStaticSuggestions();
         int spaces = 0;
-        for (char c : matchingString.toCharArray()) if (c == ' ') spaces++;
-        for (String match : tabComplete) {
-            if (!match.startsWith(matchingString)) continue;
-            int substringIndex;
-            char[] charArray = match.toCharArray();
-            for (substringIndex = 0; substringIndex < charArray.length; substringIndex++) {
-                if (spaces == 0) break;
-                if (charArray[substringIndex] == ' ') spaces--;
-            }
-            partialMatches.add(match.substring(substringIndex));
+        for (int i = 0; i < matchingString.length(); i++) if (matchingString.charAt(i) == ' ') spaces++;
+
+        // static suggestions are already sorted, so if there's nothing else to sort them with, only the matching range is copied.
+        // it is still copied, since other plugins can change the completions in a TabCompleteEvent
+        if (spaces == 0 && dynamicValues.isEmpty() && staticSuggestions.size() == 1) return new ArrayList<>(staticSuggestions.get(0).withPrefix(matchingString));
+
+        List<String> partialMatches = new ArrayList<>();
+        for (StaticSuggestions suggestions : staticSuggestions) {
+            for (String match : suggestions.withPrefix(matchingString)) partialMatches.add(trimWords(match, spaces));
+        }
+        for (String match : dynamicValues) {
+            if (!isPartialMatch(match, matchingString)) continue;
+            partialMatches.add(trimWords(match, spaces));
         }
         partialMatches.sort(Comparator.naturalOrder());
 
         return partialMatches;
     }
+
+    /**
+     * Gets whether a tab completion matches what the sender has typed so far. Tab completions that are served again by a {@link TabCompleteDebouncer} are matched the same way
+     * @param completion The tab completion
+     * @param typed What the sender has typed
+     * @return {@code true} if the tab completion matches, {@code false} otherwise
+     */
+    static boolean isPartialMatch(@NotNull String completion, @NotNull String typed) {
+        return completion.startsWith(typed);
+    }
+
+    // removes the first few words from the match, since the client only replaces the last word
+    private static @NotNull String trimWords(@NotNull String match, int spaces) {
+        if (spaces == 0) return match;
+        int substringIndex;
+        for (substringIndex = 0; substringIndex < match.length(); substringIndex++) {
+            if (spaces == 0) break;
+            if (match.charAt(substringIndex) == ' ') spaces--;
+        }
+        return match.substring(substringIndex);
+    }
 }
@@ -0,0 +1,77 @@
+package com.datasiqn.commandcore;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listens to Paper's {@code AsyncTabCompleteEvent} so that tab completions can be computed off the main server thread.
+ * The event is accessed reflectively, since it doesn't exist in the Spigot API.
+ */
+class PaperTabCompleteListener implements Listener, EventExecutor {
+    private static final String EVENT_CLASS = "com.destroystokyo.paper.event.server.AsyncTabCompleteEvent";
+
+    private final CommandCore commandCore;
+    private final Class<? extends Event> eventClass;
+    private final Method isCommand;
+    private final Method isHandled;
+    private final Method getBuffer;
+    private final Method getSender;
+    private final Method setCompletions;
+    private final Method setHandled;
+
+    private PaperTabCompleteListener(CommandCore commandCore, Class<? extends Event> eventClass) throws NoSuchMethodException {
+        this.commandCore = commandCore;
+        this.eventClass = eventClass;
+        this.isCommand = eventClass.getMethod("isCommand");
+        this.isHandled = eventClass.getMethod("isHandled");
+        this.getBuffer = eventClass.getMethod("getBuffer");
+        this.getSender = eventClass.getMethod("getSender");
+        this.setCompletions = eventClass.getMethod("setCompletions", List.class);
+        this.setHandled = eventClass.getMethod("setHandled", boolean.class);
+    }
+
+    @Override
+    public void execute(@NotNull Listener listener, @NotNull Event event) throws EventException {
+        if (!eventClass.isInstance(event)) return;
+        try {
+            if (!(boolean) isCommand.invoke(event) || (boolean) isHandled.invoke(event)) return;
+            List<String> completions = commandCore.tabCompleteAsync((CommandSender) getSender.invoke(event), (String) getBuffer.invoke(event));
+            // leaving the event unhandled makes the server fall back to the main thread
+            if (completions == null) return;
+            setCompletions.invoke(event, new ArrayList<>(completions));
+            setHandled.invoke(event, true);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new EventException(e);
+        }
+    }
+
+    /**
+     * Registers a new {@code PaperTabCompleteListener} if the server supports it
+     * @param plugin The plugin to register the listener with
+     * @param commandCore The {@code CommandCore} instance
+     * @return {@code true} if the listener was registered, {@code false} if the server doesn't support async tab completion
+     */
+    public static boolean register(@NotNull JavaPlugin plugin, @NotNull CommandCore commandCore) {
+        PaperTabCompleteListener listener;
+        try {
+            Class<? extends Event> eventClass = Class.forName(EVENT_CLASS).asSubclass(Event.class);
+            listener = new PaperTabCompleteListener(commandCore, eventClass);
+        } catch (ClassNotFoundException | ClassCastException | NoSuchMethodException e) {
+            return false;
+        }
+        Bukkit.getPluginManager().registerEvent(listener.eventClass, listener, EventPriority.NORMAL, listener, plugin, true);
+        return true;
+    }
+}
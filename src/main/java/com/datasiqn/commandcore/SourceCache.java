@@ -0,0 +1,59 @@
+package com.datasiqn.commandcore;
+
+import com.datasiqn.commandcore.command.source.CommandSource;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the {@code CommandSource} of long-lived senders, so that one isn't created every time a command is run or tab completed.
+ * <p>
+ * A source always references its sender, so the cache can't be weakly keyed by the sender. Instead, players are keyed by their UUID and removed when they quit,
+ * and the console, which lives as long as the server, is kept in a single field. All other senders are short-lived, and always get a new source.
+ */
+class SourceCache implements Listener {
+    private final Map<UUID, CommandSource> players = new ConcurrentHashMap<>();
+    private volatile CommandSource console;
+
+    /**
+     * Gets the source of {@code sender}, creating it if it isn't cached
+     * @param sender The sender
+     * @return The source
+     */
+    public @NotNull CommandSource get(@NotNull CommandSender sender) {
+        if (sender instanceof Player) {
+            Player player = (Player) sender;
+            CommandSource source = players.get(player.getUniqueId());
+            // a player that rejoins is a different object, so the cached source has to be replaced
+            if (source == null || source.getSender() != player) {
+                source = CommandCore.createSource(player);
+                // an async tab completion can finish after the player quits, which would otherwise keep them cached
+                if (player.isOnline()) players.put(player.getUniqueId(), source);
+            }
+            return source;
+        }
+        if (sender instanceof ConsoleCommandSender) {
+            CommandSource source = console;
+            if (source == null || source.getSender() != sender) {
+                source = CommandCore.createSource(sender);
+                console = source;
+            }
+            return source;
+        }
+        return CommandCore.createSource(sender);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        players.remove(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,114 @@
+package com.datasiqn.commandcore;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Limits how often the tab completions of each sender are computed.
+ * <p>
+ * Clients ask for tab completions on every key press. If a sender asks again within the interval and has only typed more of the same argument, the completions that were
+ * last computed for them are served instead, narrowed down to what they have typed since. Otherwise, completions are computed again.
+ */
+class TabCompleteDebouncer {
+    private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+
+    private final long interval;
+    private final Map<Object, Completion> completions = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL);
+
+    /**
+     * Creates a new {@code TabCompleteDebouncer}
+     * @param interval The minimum time between two computed tab completions of the same sender
+     */
+    public TabCompleteDebouncer(@NotNull Duration interval) {
+        this.interval = interval.toNanos();
+    }
+
+    /**
+     * Gets the tab completions of {@code sender}, computing them only if the last ones are older than the interval or can't be narrowed down to {@code args}
+     * @param sender The sender
+     * @param args The arguments of the root command
+     * @param limit Whether the last tab completions can be served instead. If this is {@code false}, they are always computed
+     * @param completer The function that computes the tab completions
+     * @return The tab completions, or null if {@code completer} returned null
+     */
+    public @Nullable List<String> complete(@NotNull CommandSender sender, @NotNull String @NotNull [] args, boolean limit, @NotNull Supplier<@Nullable List<String>> completer) {
+        return complete(sender, args, limit, System.nanoTime(), completer);
+    }
+
+    /**
+     * Gets the tab completions of {@code sender} at a specific time, computing them only if the last ones are older than the interval or can't be narrowed down to {@code args}
+     * @param sender The sender
+     * @param args The arguments of the root command
+     * @param limit Whether the last tab completions can be served instead. If this is {@code false}, they are always computed
+     * @param now The current time, in nanoseconds
+     * @param completer The function that computes the tab completions
+     * @return The tab completions, or null if {@code completer} returned null
+     */
+    public @Nullable List<String> complete(@NotNull CommandSender sender, @NotNull String @NotNull [] args, boolean limit, long now, @NotNull Supplier<@Nullable List<String>> completer) {
+        // the same key as a RateLimiter, so that a player that rejoins is still limited
+        Object key = sender instanceof Entity ? ((Entity) sender).getUniqueId() : sender.getName();
+        Completion last = completions.get(key);
+        if (limit && last != null && now - last.time < interval) {
+            List<String> narrowed = last.narrow(args);
+            if (narrowed != null) return narrowed;
+        }
+        List<String> computed = completer.get();
+        if (computed == null) return null;
+        sweepIfDue(now);
+        // the returned list can be changed by the server, so a copy is kept
+        completions.put(key, new Completion(now, args, new ArrayList<>(computed)));
+        return computed;
+    }
+
+    private void sweepIfDue(long now) {
+        long next = nextSweep.get();
+        if (now - next < 0 || !nextSweep.compareAndSet(next, now + SWEEP_INTERVAL)) return;
+        completions.values().removeIf(completion -> now - completion.time >= interval);
+    }
+
+    private static final class Completion {
+        private final long time;
+        private final String[] args;
+        private final List<String> values;
+        private final boolean narrowable;
+
+        private Completion(long time, String @NotNull [] args, @NotNull List<String> values) {
+            this.time = time;
+            this.args = args;
+            this.values = values;
+            // suggestions that ignore case can't be narrowed down with the same rule that found them
+            String typed = args[args.length - 1];
+            this.narrowable = values.stream().allMatch(value -> MainCommand.isPartialMatch(value, typed));
+        }
+
+        // completions only replace the last argument, so they can be reused as long as the sender is still typing more of the same argument.
+        // returns null if they can't be reused
+        private @Nullable List<String> narrow(@NotNull String @NotNull [] current) {
+            if (!narrowable || current.length != args.length) return null;
+            int last = current.length - 1;
+            for (int i = 0; i < last; i++) {
+                if (!current[i].equals(args[i])) return null;
+            }
+            String typed = current[last];
+            // if the sender deleted part of the argument, there can be completions that weren't computed last time
+            if (!typed.startsWith(args[last])) return null;
+            List<String> narrowed = new ArrayList<>();
+            for (String value : values) {
+                if (MainCommand.isPartialMatch(value, typed)) narrowed.add(value);
+            }
+            return narrowed;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.datasiqn.commandcore.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a parameter of a {@link Subcommand} method as an argument. Arguments are parsed in the order the parameters are declared in
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.PARAMETER)
+public @interface Arg {
+    /**
+     * The name of the argument, which is shown in usages
+     * @return The name
+     */
+    String value();
+
+    /**
+     * The argument type to parse with. This is either the name of a constant in {@code ArgumentType}, such as {@code "NATURAL_NUMBER"},
+     * or the fully qualified name of a static field, such as {@code "com.example.MyTypes.COLOR"}.
+     * By default, it is chosen from the type of the parameter, and an error is reported if there is no obvious choice
+     * @return The argument type, or an empty string to choose it from the type of the parameter
+     */
+    String type() default "";
+}
@@ -0,0 +1,43 @@
+package com.datasiqn.commandcore.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class whose {@link Subcommand} methods make up a command.
+ * <p>
+ * The {@code commandcore-processor} annotation processor generates a class named {@code <ClassName>Builder} next to the annotated class,
+ * with a static {@code create} method that takes an instance of the annotated class and returns the equivalent {@code CommandBuilder}.
+ * Nothing is read reflectively at runtime, and mistakes such as duplicate names or ambiguous arguments are reported when compiling.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Command {
+    /**
+     * The name of the command
+     * @return The name
+     */
+    String value();
+
+    /**
+     * The aliases of the command
+     * @return The aliases
+     */
+    String[] aliases() default {};
+
+    /**
+     * The description of the command
+     * @return The description, or an empty string if there is none
+     */
+    String description() default "";
+
+    /**
+     * The permission of the command
+     * @return The permission, or an empty string if there is none
+     */
+    String permission() default "";
+}
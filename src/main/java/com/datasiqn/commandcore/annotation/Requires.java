@@ -0,0 +1,44 @@
+package com.datasiqn.commandcore.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requires the sender to be a certain kind of sender. On a {@link Command} class, this applies to every {@link Subcommand} method of the command.
+ * On a {@link Subcommand} method, this only applies when that method is executed
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface Requires {
+    /**
+     * The kinds of senders that are required
+     * @return The kinds of senders
+     */
+    Sender[] value();
+
+    /**
+     * A kind of sender
+     */
+    enum Sender {
+        /**
+         * @see com.datasiqn.commandcore.command.builder.CommandLink#requiresPlayer()
+         */
+        PLAYER,
+        /**
+         * @see com.datasiqn.commandcore.command.builder.CommandLink#requiresEntity()
+         */
+        ENTITY,
+        /**
+         * @see com.datasiqn.commandcore.command.builder.CommandLink#requiresBlock()
+         */
+        BLOCK,
+        /**
+         * @see com.datasiqn.commandcore.command.builder.CommandLink#requiresLocatable()
+         */
+        LOCATABLE,
+    }
+}
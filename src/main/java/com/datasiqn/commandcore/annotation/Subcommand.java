@@ -0,0 +1,25 @@
+package com.datasiqn.commandcore.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method that is executed when its literals and {@link Arg arguments} are typed after the name of the command.
+ * <p>
+ * The method must not be private or static, and must return {@code void}. Every parameter is either an {@code Arg},
+ * or a {@code CommandContext} or {@code CommandSource}, which is passed the context or source that the command was executed in.
+ * Methods that start with the same literals share those nodes, in the order they were declared in.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface Subcommand {
+    /**
+     * The literals that have to be typed before the arguments, separated by spaces
+     * @return The literals, or an empty string if the method is executed with only its arguments
+     */
+    String value() default "";
+}
@@ -0,0 +1,252 @@
+package com.datasiqn.commandcore.argument;
+
+import com.datasiqn.resultapi.None;
+import com.datasiqn.resultapi.Result;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * A collection of parsers that parse a {@code CharSequence} without throwing any exceptions.
+ * <p>
+ * Each parser accepts the same input as its {@code java.lang} counterpart (for example, {@link #parseInt(CharSequence) parseInt} accepts the same input as {@link Integer#parseInt(String)}),
+ * but returns an {@code Error} result instead of throwing a {@code NumberFormatException} or {@code IllegalArgumentException}.
+ */
+public final class ArgumentParsers {
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22,
+    };
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f,
+    };
+    private static final int UUID_LENGTH = 36;
+
+    private ArgumentParsers() {}
+
+    /**
+     * Parses an integer
+     * @param chars The characters to parse
+     * @return A {@code Result} containing the parsed integer, or an {@code Error} if {@code chars} is not a valid integer or is out of range
+     */
+    public static @NotNull Result<Integer, None> parseInt(@NotNull CharSequence chars) {
+        if (!isIntegral(chars, Integer.MIN_VALUE, Integer.MAX_VALUE)) return Result.error();
+        return Result.ok((int) accumulateIntegral(chars));
+    }
+
+    /**
+     * Parses a long
+     * @param chars The characters to parse
+     * @return A {@code Result} containing the parsed long, or an {@code Error} if {@code chars} is not a valid long or is out of range
+     */
+    public static @NotNull Result<Long, None> parseLong(@NotNull CharSequence chars) {
+        if (!isIntegral(chars, Long.MIN_VALUE, Long.MAX_VALUE)) return Result.error();
+        return Result.ok(accumulateIntegral(chars));
+    }
+
+    /**
+     * Parses a double
+     * @param chars The characters to parse
+     * @return A {@code Result} containing the parsed double, or an {@code Error} if {@code chars} is not a valid double
+     */
+    public static @NotNull Result<Double, None> parseDouble(@NotNull CharSequence chars) {
+        return parseFloating(chars, false);
+    }
+
+    /**
+     * Parses a float
+     * @param chars The characters to parse
+     * @return A {@code Result} containing the parsed float, or an {@code Error} if {@code chars} is not a valid float
+     */
+    public static @NotNull Result<Float, None> parseFloat(@NotNull CharSequence chars) {
+        return parseFloating(chars, true).map(Double::floatValue);
+    }
+
+    /**
+     * Parses a UUID
+     * @param chars The characters to parse
+     * @return A {@code Result} containing the parsed UUID, or an {@code Error} if {@code chars} is not a valid UUID
+     */
+    public static @NotNull Result<UUID, None> parseUuid(@NotNull CharSequence chars) {
+        int length = chars.length();
+        if (length > UUID_LENGTH) return Result.error();
+        long[] components = new long[5];
+        int start = 0;
+        for (int component = 0; component < components.length; component++) {
+            int end = start;
+            while (end < length && chars.charAt(end) != '-') end++;
+            if (component == components.length - 1 ? end != length : end == length) return Result.error();
+            int index = start;
+            if (index < end && chars.charAt(index) == '+') index++;
+            if (index == end) return Result.error();
+            long value = 0;
+            for (; index < end; index++) {
+                int digit = Character.digit(chars.charAt(index), 16);
+                // each component must fit in a long, just like in UUID.fromString
+                if (digit < 0 || (value >>> 59) != 0) return Result.error();
+                value = (value << 4) | digit;
+            }
+            components[component] = value;
+            start = end + 1;
+        }
+        long mostSigBits = ((components[0] & 0xffffffffL) << 32) | ((components[1] & 0xffffL) << 16) | (components[2] & 0xffffL);
+        long leastSigBits = ((components[3] & 0xffffL) << 48) | (components[4] & 0xffffffffffffL);
+        return Result.ok(new UUID(mostSigBits, leastSigBits));
+    }
+
+    private static boolean isIntegral(@NotNull CharSequence chars, long min, long max) {
+        int length = chars.length();
+        if (length == 0) return false;
+        int index = 0;
+        long limit = -max;
+        char first = chars.charAt(0);
+        if (first == '-' || first == '+') {
+            if (first == '-') limit = min;
+            if (length == 1) return false;
+            index++;
+        }
+        // accumulates negatively, since the negative range is larger than the positive range
+        long multiplyMin = limit / 10;
+        long result = 0;
+        while (index < length) {
+            int digit = Character.digit(chars.charAt(index++), 10);
+            if (digit < 0 || result < multiplyMin) return false;
+            result *= 10;
+            if (result < limit + digit) return false;
+            result -= digit;
+        }
+        return true;
+    }
+
+    private static long accumulateIntegral(@NotNull CharSequence chars) {
+        int index = 0;
+        boolean negative = chars.charAt(0) == '-';
+        if (negative || chars.charAt(0) == '+') index++;
+        long result = 0;
+        while (index < chars.length()) result = result * 10 - Character.digit(chars.charAt(index++), 10);
+        return negative ? result : -result;
+    }
+
+    private static @NotNull Result<Double, None> parseFloating(@NotNull CharSequence chars, boolean single) {
+        // surrounding whitespace is ignored, just like Double.parseDouble
+        int start = 0;
+        int end = chars.length();
+        while (start < end && chars.charAt(start) <= ' ') start++;
+        while (end > start && chars.charAt(end - 1) <= ' ') end--;
+        if (start == end) return Result.error();
+
+        int index = start;
+        boolean negative = false;
+        char sign = chars.charAt(index);
+        if (sign == '-' || sign == '+') {
+            negative = sign == '-';
+            index++;
+        }
+        if (index == end) return Result.error();
+
+        if (regionEquals(chars, index, end, "NaN")) return Result.ok(Double.NaN);
+        if (regionEquals(chars, index, end, "Infinity")) return Result.ok(negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        if (index + 1 < end && chars.charAt(index) == '0' && (chars.charAt(index + 1) == 'x' || chars.charAt(index + 1) == 'X')) {
+            if (!isHexFloating(chars, index + 2, end)) return Result.error();
+            return Result.ok(parseValidated(chars, start, end, single));
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean exact = true;
+        boolean fraction = false;
+        for (; index < end; index++) {
+            char c = chars.charAt(index);
+            if (c == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            if (c < '0' || c > '9') break;
+            digits++;
+            if (mantissa == 0 && c == '0') {
+                if (fraction) exponent--;
+                continue;
+            }
+            if (significantDigits >= 18) {
+                exact = false;
+                continue;
+            }
+            mantissa = mantissa * 10 + (c - '0');
+            significantDigits++;
+            if (fraction) exponent--;
+        }
+        if (digits == 0) return Result.error();
+
+        if (index < end && (chars.charAt(index) == 'e' || chars.charAt(index) == 'E')) {
+            index++;
+            boolean negativeExponent = false;
+            if (index < end && (chars.charAt(index) == '-' || chars.charAt(index) == '+')) {
+                negativeExponent = chars.charAt(index) == '-';
+                index++;
+            }
+            int exponentDigits = 0;
+            int exponentValue = 0;
+            for (; index < end && chars.charAt(index) >= '0' && chars.charAt(index) <= '9'; index++) {
+                exponentDigits++;
+                // the exact value doesn't matter once it is this large, since it falls back to the slow path anyway
+                if (exponentValue < 100_000) exponentValue = exponentValue * 10 + (chars.charAt(index) - '0');
+            }
+            if (exponentDigits == 0) return Result.error();
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+        if (index < end && "fFdD".indexOf(chars.charAt(index)) != -1) index++;
+        if (index != end) return Result.error();
+
+        if (mantissa == 0) return Result.ok(negative ? -0.0 : 0.0);
+        // if both the mantissa and the power of ten are exactly representable, a single multiplication or division is correctly rounded
+        if (exact && single && mantissa < (1L << 24) && Math.abs(exponent) < FLOAT_POWERS_OF_TEN.length) {
+            float value = exponent < 0 ? mantissa / FLOAT_POWERS_OF_TEN[-exponent] : mantissa * FLOAT_POWERS_OF_TEN[exponent];
+            return Result.ok((double) (negative ? -value : value));
+        }
+        if (exact && !single && mantissa < (1L << 53) && Math.abs(exponent) < DOUBLE_POWERS_OF_TEN.length) {
+            double value = exponent < 0 ? mantissa / DOUBLE_POWERS_OF_TEN[-exponent] : mantissa * DOUBLE_POWERS_OF_TEN[exponent];
+            return Result.ok(negative ? -value : value);
+        }
+        return Result.ok(parseValidated(chars, start, end, single));
+    }
+
+    private static double parseValidated(@NotNull CharSequence chars, int start, int end, boolean single) {
+        // the input has already been validated, so this will never throw
+        String validated = chars.subSequence(start, end).toString();
+        return single ? Float.parseFloat(validated) : Double.parseDouble(validated);
+    }
+
+    private static boolean isHexFloating(@NotNull CharSequence chars, int index, int end) {
+        int digits = 0;
+        boolean fraction = false;
+        for (; index < end; index++) {
+            char c = chars.charAt(index);
+            if (c == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+            if (Character.digit(c, 16) < 0 || c > 'f') break;
+            digits++;
+        }
+        if (digits == 0) return false;
+        // unlike decimal numbers, the binary exponent is required
+        if (index == end || (chars.charAt(index) != 'p' && chars.charAt(index) != 'P')) return false;
+        index++;
+        if (index < end && (chars.charAt(index) == '-' || chars.charAt(index) == '+')) index++;
+        int exponentDigits = 0;
+        for (; index < end && chars.charAt(index) >= '0' && chars.charAt(index) <= '9'; index++) exponentDigits++;
+        if (exponentDigits == 0) return false;
+        if (index < end && "fFdD".indexOf(chars.charAt(index)) != -1) index++;
+        return index == end;
+    }
+
+    private static boolean regionEquals(@NotNull CharSequence chars, int start, int end, @NotNull String expected) {
+        if (end - start != expected.length()) return false;
+        for (int i = 0; i < expected.length(); i++) {
+            if (chars.charAt(start + i) != expected.charAt(i)) return false;
+        }
+        return true;
+    }
+}
@@ -110,4 +110,51 @@ public interface ArgumentReader {
      * @return The next word
      */
     @NotNull String nextWord();
+
+    /**
+     * Gets the index right after the end of the word that the reader is currently on, without moving the reader.
+     * The word always includes the current character, and ends before the next space or at {@link #size()}
+     *
+     * <pre>
+     *     {@code
+     *
+     *     // reader has the internal string of "hello there"
+     *     int end = reader.peekWordEnd();
+     *     assert end == 5;
+     *     assert reader.index() == 0;
+     *
+     *     }
+     * </pre>
+     *
+     * @return The exclusive end index of the current word
+     */
+    default int peekWordEnd() {
+        int start = index();
+        while (!atEnd() && next() != ' ');
+        int end = get() == ' ' && index() != start ? index() : index() + 1;
+        jumpTo(start);
+        return end;
+    }
+
+    /**
+     * Same as {@link #splice(int, int)}, except that the returned {@code CharSequence} may be a view of the underlying data instead of a copy
+     * @param beginning The index to start at
+     * @param end The index to end at
+     * @return The sliced characters
+     */
+    default @NotNull CharSequence slice(int beginning, int end) {
+        return splice(beginning, end);
+    }
+
+    /**
+     * Same as {@link #nextWord()}, except that the returned {@code CharSequence} may be a view of the underlying data instead of a copy
+     * @return The next word
+     */
+    default @NotNull CharSequence nextWordSlice() {
+        int start = index();
+        int end = peekWordEnd();
+        CharSequence word = slice(start, end);
+        jumpTo(end >= size() ? end - 1 : end);
+        return word;
+    }
 }
@@ -0,0 +1,58 @@
+package com.datasiqn.commandcore.argument;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A read-only view of a section of a {@code CharSequence}. Creating a slice does not copy any characters.
+ */
+public final class ArgumentSlice implements CharSequence {
+    private final CharSequence source;
+    private final int offset;
+    private final int length;
+
+    /**
+     * Creates a new {@code ArgumentSlice}
+     * @param source The characters to view
+     * @param beginning The index to start at
+     * @param end The index to end at
+     * @throws IndexOutOfBoundsException If {@code beginning} is negative, {@code end} is larger than the length of {@code source}, or {@code beginning} is larger than {@code end}
+     */
+    public ArgumentSlice(@NotNull CharSequence source, int beginning, int end) {
+        if (end > source.length()) throw new IndexOutOfBoundsException("end index (" + end + ") is larger than the length (" + source.length() + ")");
+        if (beginning < 0) throw new IndexOutOfBoundsException("beginning index cannot be negative");
+        if (beginning > end) throw new IndexOutOfBoundsException("beginning index cannot be larger than end index");
+        this.source = source;
+        this.offset = beginning;
+        this.length = end - beginning;
+    }
+
+    /**
+     * Gets the index in the source where this slice starts
+     * @return The start index
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException("index (" + index + ") is out of bounds for length (" + length + ")");
+        return source.charAt(offset + index);
+    }
+
+    @Override
+    public @NotNull CharSequence subSequence(int start, int end) {
+        if (end > length) throw new IndexOutOfBoundsException("end index (" + end + ") is larger than the length (" + length + ")");
+        return new ArgumentSlice(source, offset + start, offset + end);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return source.subSequence(offset, offset + length).toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.datasiqn.commandcore.argument;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * An immutable index that maps strings to values, ignoring case.
+ * <p>
+ * Keys are compared the same way {@link String#equalsIgnoreCase(String)} compares strings.
+ * Looking up a key does not allocate, so any {@code CharSequence}, such as an {@link ArgumentSlice}, can be used as a key.
+ * @param <V> The type of the values
+ */
+public final class CaseInsensitiveIndex<V> {
+    private final String[] keys;
+    private final Object[] values;
+    private final int mask;
+    private final int size;
+
+    /**
+     * Creates a new {@code CaseInsensitiveIndex}.
+     * If multiple keys are equal when ignoring case, the first one in {@code entries}' iteration order is used.
+     * @param entries The keys and values to index
+     */
+    public CaseInsensitiveIndex(@NotNull Map<String, ? extends V> entries) {
+        int capacity = Integer.highestOneBit(Math.max(entries.size(), 1) * 2) << 1;
+        this.keys = new String[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        int size = 0;
+        for (Map.Entry<String, ? extends V> entry : entries.entrySet()) {
+            String key = entry.getKey();
+            int index = hash(key) & mask;
+            while (keys[index] != null && !equalsIgnoreCase(keys[index], key)) index = (index + 1) & mask;
+            if (keys[index] != null) continue;
+            keys[index] = key;
+            values[index] = entry.getValue();
+            size++;
+        }
+        this.size = size;
+    }
+
+    /**
+     * Gets the value that is mapped to {@code key}, ignoring case
+     * @param key The key
+     * @return The value, or null if there is no value mapped to {@code key}
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(@NotNull CharSequence key) {
+        for (int index = hash(key) & mask; keys[index] != null; index = (index + 1) & mask) {
+            if (equalsIgnoreCase(keys[index], key)) return (V) values[index];
+        }
+        return null;
+    }
+
+    /**
+     * Gets the key that {@code key} matches, ignoring case. This is the key exactly as it was when this index was created.
+     * @param key The key
+     * @return The original key, or null if there is no value mapped to {@code key}
+     */
+    public @Nullable String getKey(@NotNull CharSequence key) {
+        for (int index = hash(key) & mask; keys[index] != null; index = (index + 1) & mask) {
+            if (equalsIgnoreCase(keys[index], key)) return keys[index];
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of keys in this index
+     * @return The number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int hash(@NotNull CharSequence chars) {
+        int hash = 0;
+        for (int i = 0; i < chars.length(); i++) hash = 31 * hash + fold(chars.charAt(i));
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equalsIgnoreCase(@NotNull String key, @NotNull CharSequence chars) {
+        if (key.length() != chars.length()) return false;
+        for (int i = 0; i < key.length(); i++) {
+            char a = key.charAt(i);
+            char b = chars.charAt(i);
+            if (a != b && fold(a) != fold(b)) return false;
+        }
+        return true;
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
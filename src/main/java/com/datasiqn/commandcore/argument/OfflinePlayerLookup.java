@@ -0,0 +1,105 @@
+package com.datasiqn.commandcore.argument;
+
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.managers.OfflinePlayerCache;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Represents a player that was referred to by name, who may or may not be known to the server.
+ * <p>
+ * If the name was in the {@link OfflinePlayerCache}, the player is available immediately. Otherwise, finding the player can require a profile lookup,
+ * which is only done off the main server thread once {@link #resolve()} is called.
+ */
+public final class OfflinePlayerLookup {
+    private final String name;
+    private final UUID uuid;
+    private final OfflinePlayerCache cache;
+    private volatile CompletableFuture<OfflinePlayer> future;
+
+    /**
+     * Creates a new {@code OfflinePlayerLookup}
+     * @param name The name of the player
+     * @param uuid The cached UUID of the player, or null if the player isn't cached
+     * @param cache The cache to add the player to once they are resolved, or null if they shouldn't be cached
+     */
+    public OfflinePlayerLookup(@NotNull String name, @Nullable UUID uuid, @Nullable OfflinePlayerCache cache) {
+        this.name = name;
+        this.uuid = uuid;
+        this.cache = cache;
+    }
+
+    /**
+     * Gets the name of the player, exactly as it was typed
+     * @return The name of the player
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the UUID of the player if they were cached
+     * @return The UUID, or null if the player wasn't cached
+     */
+    public @Nullable UUID getUniqueId() {
+        return uuid;
+    }
+
+    /**
+     * Gets whether the player was cached, meaning that they can be gotten without a lookup
+     * @return {@code true} if the player was cached, {@code false} otherwise
+     */
+    public boolean isCached() {
+        return uuid != null;
+    }
+
+    /**
+     * Gets whether {@code name} can be the name of a player, meaning that it has 1 to 16 letters, digits or underscores
+     * @param name The name
+     * @return {@code true} if it can be the name of a player, {@code false} otherwise
+     */
+    public static boolean isValidName(@NotNull CharSequence name) {
+        if (name.length() == 0 || name.length() > 16) return false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if ((c < 'a' || c > 'z') && (c < 'A' || c > 'Z') && (c < '0' || c > '9') && c != '_') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the player without doing a lookup
+     * @return The player, or null if the player wasn't cached
+     */
+    public @Nullable OfflinePlayer getNow() {
+        return uuid == null ? null : Bukkit.getOfflinePlayer(uuid);
+    }
+
+    /**
+     * Gets the player. If the player wasn't cached, they are looked up off the main server thread, and added to the cache if they have played before.
+     * The lookup is only done once, no matter how many times this is called
+     * @return A future that completes with the player
+     */
+    @SuppressWarnings("deprecation")
+    public @NotNull CompletableFuture<OfflinePlayer> resolve() {
+        CompletableFuture<OfflinePlayer> future = this.future;
+        if (future != null) return future;
+        synchronized (this) {
+            if (this.future != null) return this.future;
+            if (uuid != null) future = CompletableFuture.completedFuture(Bukkit.getOfflinePlayer(uuid));
+            else {
+                future = CommandCore.isInitialized() ? CompletableFuture.supplyAsync(() -> Bukkit.getOfflinePlayer(name), CommandCore.getInstance().getAsyncExecutor()) : CompletableFuture.supplyAsync(() -> Bukkit.getOfflinePlayer(name));
+                future = future.whenComplete((player, throwable) -> {
+                    if (player != null && cache != null && player.hasPlayedBefore() && player.getName() != null) cache.put(player.getName(), player.getUniqueId());
+                });
+            }
+            this.future = future;
+            return future;
+        }
+    }
+}
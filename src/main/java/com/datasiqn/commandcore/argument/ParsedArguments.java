@@ -0,0 +1,48 @@
+package com.datasiqn.commandcore.argument;
+
+import com.datasiqn.commandcore.argument.type.ArgumentType;
+import com.datasiqn.resultapi.Result;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Represents a list of arguments that have already been parsed.
+ * <p>
+ * Internally, this stores the value and the {@code ArgumentType} that each argument was parsed with.
+ * Requesting an argument with the same {@code ArgumentType} it was parsed with returns the stored value, while any other {@code ArgumentType} parses the string again.
+ */
+public class ParsedArguments extends StringArguments {
+    private final ArgumentType<?>[] types;
+    private final Object[] values;
+
+    /**
+     * Creates a new {@code ParsedArguments}
+     * @param args The arguments in a string list
+     * @param types The argument types used to parse each argument. An element can be null if the argument was not parsed
+     * @param values The parsed value of each argument
+     * @throws IllegalArgumentException If {@code args}, {@code types}, and {@code values} are not all the same size
+     */
+    public ParsedArguments(@NotNull List<String> args, @NotNull List<ArgumentType<?>> types, @NotNull List<Object> values) {
+        super(args);
+        if (args.size() != types.size() || args.size() != values.size()) throw new IllegalArgumentException("args, types, and values must all be the same size");
+        this.types = types.toArray(new ArgumentType<?>[0]);
+        this.values = values.toArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public @NotNull <T> T get(int i, ArgumentType<T> type) {
+        Arguments.checkBounds(i, size());
+        if (types[i] == type) return (T) values[i];
+        return super.get(i, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public @NotNull <T> Result<T, String> getChecked(int i, @NotNull ArgumentType<T> type) {
+        Arguments.checkBounds(i, size());
+        if (types[i] == type) return Result.ok((T) values[i]);
+        return super.getChecked(i, type);
+    }
+}
@@ -3,10 +3,12 @@ package com.datasiqn.commandcore.argument;
 import org.jetbrains.annotations.NotNull;
 
 /**
- * An {@code ArgumentReader} that reads a string
+ * An {@code ArgumentReader} that reads a string, or any other {@code CharSequence}.
+ * <p>
+ * Words and slices are returned as views of the underlying {@code CharSequence}, so a {@code char[]} can be read without copying by wrapping it with {@link java.nio.CharBuffer#wrap(char[]) CharBuffer.wrap}.
  */
 public class StringArgumentReader implements ArgumentReader {
-    private final String arg;
+    private final CharSequence arg;
 
     private int index = 0;
 
@@ -14,7 +16,7 @@ public class StringArgumentReader implements ArgumentReader {
      * Creates a new {@code ArgumentReader} that reads a string
      * @param arg The string to read
      */
-    public StringArgumentReader(String arg) {
+    public StringArgumentReader(@NotNull CharSequence arg) {
         this.arg = arg;
     }
 
@@ -58,25 +60,38 @@ public class StringArgumentReader implements ArgumentReader {
     }
     @Override
     public @NotNull String splice(int beginning, int end) {
-        if (end > size()) throw new IndexOutOfBoundsException("end index (" + end + ") is larger than the length (" + size() + ")");
-        if (beginning < 0) throw new IndexOutOfBoundsException("beginning index cannot be negative");
-        if (beginning > end) throw new IndexOutOfBoundsException("beginning index cannot be larger than end index");
-        return arg.substring(beginning, end);
+        return slice(beginning, end).toString();
     }
 
     @Override
     public @NotNull String nextWord() {
-        if (atEnd()) return String.valueOf(get());
-        StringBuilder builder = new StringBuilder();
-        builder.append(get());
-        while (!atEnd() && next() != ' ') {
-            builder.append(get());
-        }
-        return builder.toString();
+        return nextWordSlice().toString();
+    }
+
+    @Override
+    public int peekWordEnd() {
+        // the current character is always part of the word, even if it is a space
+        get();
+        int end = index + 1;
+        while (end < arg.length() && arg.charAt(end) != ' ') end++;
+        return end;
+    }
+
+    @Override
+    public @NotNull ArgumentSlice slice(int beginning, int end) {
+        return new ArgumentSlice(arg, beginning, end);
+    }
+
+    @Override
+    public @NotNull ArgumentSlice nextWordSlice() {
+        int start = index;
+        int end = peekWordEnd();
+        index = end >= arg.length() ? end - 1 : end;
+        return slice(start, end);
     }
 
     @Override
     public String toString() {
-        return arg;
+        return arg.toString();
     }
 }
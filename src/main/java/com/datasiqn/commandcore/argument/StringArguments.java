@@ -10,10 +10,11 @@ import java.util.List;
  * Represents a list of arguments.
  * <p>
  * Internally, this uses a {@code List<String>} to store arguments and parses the string it every time the user wants an argument.
+ * The arguments are only joined into a single string once {@link #asReader()} is called.
  */
 public class StringArguments implements Arguments {
     private final List<String> allArguments;
-    private final String stringArguments;
+    private String stringArguments;
 
     /**
      * Creates a new {@code ListArguments}
@@ -21,7 +22,6 @@ public class StringArguments implements Arguments {
      */
     public StringArguments(List<String> args) {
         allArguments = args;
-        stringArguments = String.join(" ", allArguments);
     }
 
     @Override
@@ -43,6 +43,7 @@ public class StringArguments implements Arguments {
 
     @Override
     public @NotNull ArgumentReader asReader() {
+        if (stringArguments == null) stringArguments = String.join(" ", allArguments);
         return new StringArgumentReader(stringArguments);
     }
 
@@ -0,0 +1,273 @@
+package com.datasiqn.commandcore.argument.selector;
+
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.command.source.CommandSource;
+import com.datasiqn.commandcore.locatable.LocatableCommandSender;
+import com.datasiqn.resultapi.Result;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Represents a parsed entity selector, such as {@code @a}, {@code @e[type=zombie,distance=..10]} or a player's name.
+ * <p>
+ * A selector is parsed once into a single filter, which is then used every time the selector is evaluated.
+ * If the selector has a maximum {@code distance}, only the chunks within that distance are searched, instead of every entity in the world.
+ * Selectors must be evaluated on the main server thread.
+ */
+public final class EntitySelector {
+    private final Target target;
+    private final String playerName;
+    private final Predicate<Entity> filter;
+    private final double minDistance;
+    private final double maxDistance;
+    private final int limit;
+    private final Sort sort;
+    private final boolean playersOnly;
+
+    EntitySelector(@NotNull Target target, @Nullable String playerName, @NotNull Predicate<Entity> filter, double minDistance, double maxDistance, int limit, @NotNull Sort sort, boolean playersOnly) {
+        this.target = target;
+        this.playerName = playerName;
+        this.filter = filter;
+        this.minDistance = minDistance;
+        this.maxDistance = maxDistance;
+        this.limit = limit;
+        this.sort = sort;
+        this.playersOnly = playersOnly;
+    }
+
+    /**
+     * Parses a selector. This is either a target ({@code @a}, {@code @p}, {@code @r}, {@code @s} or {@code @e}), optionally followed by options in brackets, or the name of a player.
+     * <p>
+     * The supported options are {@code type}, {@code distance}, {@code limit}, {@code sort}, {@code tag} and {@code name}, and they work the same way they do in vanilla selectors.
+     * Options can have spaces around them, but values can't be quoted, so they can't contain {@code ,} or {@code ]}
+     * @param selector The selector
+     * @return The parsed selector, or an error message if {@code selector} is invalid
+     */
+    public static @NotNull Result<EntitySelector, String> parse(@NotNull String selector) {
+        return new SelectorParser(selector).parse();
+    }
+
+    /**
+     * Selects all entities that match this selector, relative to the source of a command
+     * @param source The source
+     * @return The selected entities
+     * @see #select(Entity, Location)
+     */
+    public @NotNull List<Entity> select(@NotNull CommandSource source) {
+        Result<Entity, String> entity = source.getEntityChecked();
+        Entity self = entity.isOk() ? entity.unwrap() : null;
+        Result<LocatableCommandSender, String> locatable = source.getLocatableChecked();
+        // senders without a location, such as the console, select from the spawn of the main world
+        Location origin = locatable.isOk() ? locatable.unwrap().getLocation() : Bukkit.getWorlds().get(0).getSpawnLocation();
+        return select(self, origin);
+    }
+
+    /**
+     * Selects all players that match this selector, relative to the source of a command
+     * @param source The source
+     * @return The selected players
+     */
+    public @NotNull List<Player> selectPlayers(@NotNull CommandSource source) {
+        List<Player> players = new ArrayList<>();
+        for (Entity entity : select(source)) {
+            if (entity instanceof Player) players.add((Player) entity);
+        }
+        return players;
+    }
+
+    /**
+     * Selects all entities that match this selector
+     * @param self The entity that {@code @s} refers to, or null if there is none
+     * @param origin The location that distances are measured from
+     * @return The selected entities
+     */
+    public @NotNull List<Entity> select(@Nullable Entity self, @NotNull Location origin) {
+        if (playerName != null) {
+            Player player = findPlayer(playerName);
+            return player == null ? Collections.emptyList() : Collections.singletonList(player);
+        }
+        Predicate<Entity> matches = entity -> matches(entity, origin);
+        List<Entity> selected = new ArrayList<>();
+        if (target == Target.SELF) {
+            if (self != null && matches.test(self)) selected.add(self);
+            return selected;
+        }
+        World world = origin.getWorld();
+        if (maxDistance != Double.POSITIVE_INFINITY) {
+            // only the chunks within the distance are searched
+            selected.addAll(world.getNearbyEntities(origin, maxDistance, maxDistance, maxDistance, matches));
+        } else if (playersOnly) {
+            // @p only looks for players in the same world, just like in vanilla
+            Collection<? extends Player> players = target == Target.NEAREST_PLAYER ? world.getPlayers() : getOnlinePlayers();
+            for (Player player : players) {
+                if (matches.test(player)) selected.add(player);
+            }
+        } else {
+            for (World searched : Bukkit.getWorlds()) {
+                for (Entity entity : searched.getEntities()) {
+                    if (matches.test(entity)) selected.add(entity);
+                }
+            }
+        }
+        return sortAndLimit(selected, origin);
+    }
+
+    /**
+     * Gets whether this selector can only ever select a single entity
+     * @return {@code true} if this selector selects at most one entity, {@code false} otherwise
+     */
+    public boolean isSingle() {
+        return playerName != null || target == Target.SELF || limit == 1;
+    }
+
+    /**
+     * Gets whether this selector can only ever select players
+     * @return {@code true} if this selector only selects players, {@code false} otherwise
+     */
+    public boolean isPlayersOnly() {
+        return playersOnly;
+    }
+
+    /**
+     * Gets the target of this selector
+     * @return The target, or null if this selector is a player's name
+     */
+    public @Nullable Target getTarget() {
+        return playerName == null ? target : null;
+    }
+
+    /**
+     * Gets the maximum number of entities this selector selects
+     * @return The maximum number of entities, or {@link Integer#MAX_VALUE} if there is no limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the order that entities are selected in
+     * @return The order
+     */
+    public @NotNull Sort getSort() {
+        return sort;
+    }
+
+    private boolean matches(@NotNull Entity entity, @NotNull Location origin) {
+        if (!filter.test(entity)) return false;
+        if (minDistance == 0 && maxDistance == Double.POSITIVE_INFINITY) return true;
+        Location location = entity.getLocation();
+        if (location.getWorld() != origin.getWorld()) return false;
+        double distanceSquared = location.distanceSquared(origin);
+        return distanceSquared >= minDistance * minDistance && distanceSquared <= maxDistance * maxDistance;
+    }
+
+    private @NotNull List<Entity> sortAndLimit(@NotNull List<Entity> selected, @NotNull Location origin) {
+        if (selected.size() <= 1) return selected;
+        switch (sort) {
+            case NEAREST:
+            case FURTHEST:
+                Comparator<Entity> comparator = Comparator.comparingDouble(entity -> distanceSquared(entity, origin));
+                if (sort == Sort.FURTHEST) comparator = comparator.reversed();
+                if (limit == 1) return Collections.singletonList(Collections.min(selected, comparator));
+                selected.sort(comparator);
+                break;
+            case RANDOM:
+                if (limit == 1) return Collections.singletonList(selected.get(ThreadLocalRandom.current().nextInt(selected.size())));
+                Collections.shuffle(selected, ThreadLocalRandom.current());
+                break;
+            case ARBITRARY:
+                break;
+        }
+        return selected.size() > limit ? selected.subList(0, limit) : selected;
+    }
+
+    // entities in other worlds are always the furthest away
+    private static double distanceSquared(@NotNull Entity entity, @NotNull Location origin) {
+        Location location = entity.getLocation();
+        return location.getWorld() == origin.getWorld() ? location.distanceSquared(origin) : Double.POSITIVE_INFINITY;
+    }
+
+    private static @Nullable Player findPlayer(@NotNull String name) {
+        return CommandCore.isInitialized() ? CommandCore.getInstance().getPlayerIndex().getPlayer(name) : Bukkit.getPlayerExact(name);
+    }
+
+    private static @NotNull Collection<? extends Player> getOnlinePlayers() {
+        return CommandCore.isInitialized() ? CommandCore.getInstance().getPlayerIndex().getPlayers() : Bukkit.getOnlinePlayers();
+    }
+
+    /**
+     * Represents who a selector selects
+     */
+    public enum Target {
+        /**
+         * {@code @a}, every player
+         */
+        ALL_PLAYERS('a'),
+        /**
+         * {@code @p}, the nearest player
+         */
+        NEAREST_PLAYER('p'),
+        /**
+         * {@code @r}, a random player
+         */
+        RANDOM_PLAYER('r'),
+        /**
+         * {@code @s}, the entity that ran the command
+         */
+        SELF('s'),
+        /**
+         * {@code @e}, every entity
+         */
+        ALL_ENTITIES('e'),
+        ;
+
+        private final char character;
+
+        Target(char character) {
+            this.character = character;
+        }
+
+        /**
+         * Gets the character that comes after the {@code @}
+         * @return The character
+         */
+        public char getCharacter() {
+            return character;
+        }
+    }
+
+    /**
+     * Represents the order that a selector selects entities in
+     */
+    public enum Sort {
+        /**
+         * The nearest entities first
+         */
+        NEAREST,
+        /**
+         * The furthest entities first
+         */
+        FURTHEST,
+        /**
+         * A random order
+         */
+        RANDOM,
+        /**
+         * Whatever order the entities are found in, which is the fastest
+         */
+        ARBITRARY,
+    }
+}
@@ -0,0 +1,169 @@
+package com.datasiqn.commandcore.argument.selector;
+
+import com.datasiqn.commandcore.argument.OfflinePlayerLookup;
+import com.datasiqn.commandcore.argument.selector.EntitySelector.Sort;
+import com.datasiqn.commandcore.argument.selector.EntitySelector.Target;
+import com.datasiqn.resultapi.Result;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Parses a selector into an {@code EntitySelector}, compiling all of its options into a single filter.
+ * <p>
+ * The filters are combined from cheapest to most expensive, so that most entities are rejected before their tags are looked at.
+ */
+final class SelectorParser {
+    private final String selector;
+
+    private final List<Predicate<Entity>> typeFilters = new ArrayList<>();
+    private final List<Predicate<Entity>> nameFilters = new ArrayList<>();
+    private final List<Predicate<Entity>> tagFilters = new ArrayList<>();
+    private double minDistance = 0;
+    private double maxDistance = Double.POSITIVE_INFINITY;
+    private boolean hasType;
+    private boolean playersOnly;
+
+    SelectorParser(@NotNull String selector) {
+        this.selector = selector;
+    }
+
+    @NotNull Result<EntitySelector, String> parse() {
+        if (selector.isEmpty()) return Result.error("Expected a selector or a player name");
+        if (selector.charAt(0) != '@') {
+            if (!OfflinePlayerLookup.isValidName(selector)) return Result.error("Invalid player name '" + selector + "'");
+            return Result.ok(new EntitySelector(Target.ALL_PLAYERS, selector, entity -> true, 0, Double.POSITIVE_INFINITY, 1, Sort.ARBITRARY, true));
+        }
+        if (selector.length() < 2) return Result.error("Expected a selector target after '@'");
+        Target target = null;
+        for (Target value : Target.values()) {
+            if (value.getCharacter() == selector.charAt(1)) target = value;
+        }
+        if (target == null) return Result.error("Unknown selector target '" + selector.substring(0, 2) + "'");
+
+        int limit = target == Target.NEAREST_PLAYER || target == Target.RANDOM_PLAYER || target == Target.SELF ? 1 : Integer.MAX_VALUE;
+        Sort sort = target == Target.NEAREST_PLAYER ? Sort.NEAREST : target == Target.RANDOM_PLAYER ? Sort.RANDOM : Sort.ARBITRARY;
+        playersOnly = target != Target.ALL_ENTITIES && target != Target.SELF;
+
+        if (selector.length() > 2) {
+            if (selector.charAt(2) != '[' || selector.charAt(selector.length() - 1) != ']') return Result.error("Expected options in brackets after '" + selector.substring(0, 2) + "'");
+            String options = selector.substring(3, selector.length() - 1);
+            if (!options.trim().isEmpty()) {
+                for (String option : options.split(",", -1)) {
+                    int separator = option.indexOf('=');
+                    if (separator == -1) return Result.error("Expected '=' after selector option '" + option + "'");
+                    // spaces are allowed around keys and values, just like in vanilla selectors
+                    String key = option.substring(0, separator).trim();
+                    String value = option.substring(separator + 1).trim();
+                    boolean negated = value.startsWith("!");
+                    if (negated) value = value.substring(1);
+                    String error = null;
+                    switch (key) {
+                        case "type":
+                            error = parseType(value, negated);
+                            break;
+                        case "distance":
+                            error = negated ? "The distance option cannot be negated" : parseDistance(value);
+                            break;
+                        case "limit":
+                            Integer parsedLimit = negated ? null : parsePositiveInt(value);
+                            if (parsedLimit == null) error = "Invalid limit '" + value + "'";
+                            else limit = parsedLimit;
+                            break;
+                        case "sort":
+                            Sort parsedSort = negated ? null : parseSort(value);
+                            if (parsedSort == null) error = "Invalid sort '" + value + "'";
+                            else sort = parsedSort;
+                            break;
+                        case "tag":
+                            parseTag(value, negated);
+                            break;
+                        case "name":
+                            String name = value;
+                            nameFilters.add(entity -> name.equals(entity.getName()) != negated);
+                            break;
+                        default:
+                            error = "Unknown selector option '" + key + "'";
+                    }
+                    if (error != null) return Result.error(error);
+                }
+            }
+        }
+
+        Predicate<Entity> filter = playersOnly ? entity -> entity instanceof Player : entity -> true;
+        for (Predicate<Entity> typeFilter : typeFilters) filter = filter.and(typeFilter);
+        for (Predicate<Entity> nameFilter : nameFilters) filter = filter.and(nameFilter);
+        for (Predicate<Entity> tagFilter : tagFilters) filter = filter.and(tagFilter);
+        return Result.ok(new EntitySelector(target, null, filter, minDistance, maxDistance, limit, sort, playersOnly));
+    }
+
+    private @Nullable String parseType(@NotNull String value, boolean negated) {
+        EntityType type = findType(value);
+        if (type == null) return "Unknown entity type '" + value + "'";
+        if (negated) {
+            typeFilters.add(entity -> entity.getType() != type);
+            return null;
+        }
+        if (hasType) return "Only one entity type can be selected";
+        hasType = true;
+        if (type == EntityType.PLAYER) playersOnly = true;
+        typeFilters.add(entity -> entity.getType() == type);
+        return null;
+    }
+
+    private @Nullable String parseDistance(@NotNull String value) {
+        int separator = value.indexOf("..");
+        try {
+            if (separator == -1) {
+                minDistance = maxDistance = Double.parseDouble(value);
+            } else {
+                String min = value.substring(0, separator);
+                String max = value.substring(separator + 2);
+                if (min.isEmpty() && max.isEmpty()) return "Invalid distance '" + value + "'";
+                if (!min.isEmpty()) minDistance = Double.parseDouble(min);
+                if (!max.isEmpty()) maxDistance = Double.parseDouble(max);
+            }
+        } catch (NumberFormatException e) {
+            return "Invalid distance '" + value + "'";
+        }
+        if (minDistance < 0 || maxDistance < minDistance) return "Invalid distance '" + value + "'";
+        return null;
+    }
+
+    private void parseTag(@NotNull String tag, boolean negated) {
+        // an empty tag means the entity has no tags at all
+        if (tag.isEmpty()) tagFilters.add(entity -> entity.getScoreboardTags().isEmpty() != negated);
+        else tagFilters.add(entity -> entity.getScoreboardTags().contains(tag) != negated);
+    }
+
+    private static @Nullable EntityType findType(@NotNull String value) {
+        String name = value.startsWith("minecraft:") ? value.substring("minecraft:".length()) : value;
+        for (EntityType type : EntityType.values()) {
+            if (type.name().equalsIgnoreCase(name)) return type;
+        }
+        return null;
+    }
+
+    private static @Nullable Sort parseSort(@NotNull String value) {
+        for (Sort sort : Sort.values()) {
+            if (sort.name().toLowerCase(Locale.ROOT).equals(value)) return sort;
+        }
+        return null;
+    }
+
+    private static @Nullable Integer parsePositiveInt(@NotNull String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            return parsed >= 1 ? parsed : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.datasiqn.commandcore.argument.type;
 
 import com.datasiqn.commandcore.argument.ArgumentReader;
+import com.datasiqn.commandcore.argument.CaseInsensitiveIndex;
+import com.datasiqn.commandcore.argument.OfflinePlayerLookup;
+import com.datasiqn.commandcore.argument.selector.EntitySelector;
 import com.datasiqn.commandcore.command.Command;
 import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.command.StaticSuggestions;
 import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
 import org.bukkit.Bukkit;
@@ -15,12 +19,14 @@ import org.bukkit.loot.LootTable;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
-import org.yaml.snakeyaml.util.EnumUtils;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -49,11 +55,21 @@ public interface ArgumentType<T> {
      */
     ArgumentType<Integer> NATURAL_NUMBER = rangedInt(1);
 
+    /**
+     * {@code ArgumentType} that represents a long
+     */
+    ArgumentType<Long> LONG = new LongArgumentType();
+
     /**
      * {@code ArgumentType} that represents a double
      */
     ArgumentType<Double> DOUBLE = new DoubleArgumentType();
 
+    /**
+     * {@code ArgumentType} that represents a float
+     */
+    ArgumentType<Float> FLOAT = new FloatArgumentType();
+
     /**
      * {@code ArgumentType} that represents a boolean
      */
@@ -116,6 +132,19 @@ public interface ArgumentType<T> {
      */
     ArgumentType<Player> PLAYER = new PlayerArgumentType();
 
+    /**
+     * {@code ArgumentType} that represents a player who may be offline, referred to by name.
+     * <br>
+     * Parsing never blocks: names of players that have been on the server are cached, and any other name is looked up off the main thread once {@link OfflinePlayerLookup#resolve()} is called
+     */
+    ArgumentType<OfflinePlayerLookup> OFFLINE_PLAYER = new OfflinePlayerArgumentType();
+
+    /**
+     * {@code ArgumentType} that represents an entity selector, such as {@code @a}, {@code @e[type=zombie,distance=..10]} or a player's name
+     * @see EntitySelector#parse(String)
+     */
+    ArgumentType<EntitySelector> ENTITY_SELECTOR = new EntitySelectorArgumentType();
+
     /**
      * {@code ArgumentType} that represents a {@code CommandCore} command
      */
@@ -143,7 +172,10 @@ public interface ArgumentType<T> {
 
     /**
      * Attempts to parse an {@code ArgumentReader}.
-     * After parsing, the reader will always be on the space of the next argument, or the end of the reader
+     * After parsing, the reader will always be on the space of the next argument, or the end of the reader.
+     * <p>
+     * If async tab completion is enabled, every argument before the one being completed is parsed from a thread other than the main server thread, so this must be thread-safe.
+     * If this needs to access anything that is only safe to access from the main thread, {@link #requiresMainThread()} should return {@code true}.
      * @param reader The reader to parse
      * @return The result of parsing
      */
@@ -151,7 +183,10 @@ public interface ArgumentType<T> {
     Result<T, String> parse(@NotNull ArgumentReader reader);
 
     /**
-     * Gets the tabcomplete for this {@code ArgumentType}
+     * Gets the tabcomplete for this {@code ArgumentType}.
+     * <p>
+     * If async tab completion is enabled, this may be called from a thread other than the main server thread, so it must be thread-safe.
+     * If this needs to access anything that is only safe to access from the main thread, {@link #requiresMainThread()} should return {@code true}.
      * @param context The command context
      * @return The tabcomplete
      */
@@ -161,14 +196,78 @@ public interface ArgumentType<T> {
     }
 
     /**
-     * Represents a custom {@code ArgumentType} that parses to an enum value
+     * Gets the tabcomplete for this {@code ArgumentType} if it never changes.
+     * <p>
+     * If this returns a non-null value, the suggestions are indexed once and {@link #getTabComplete(CommandContext) getTabComplete} is not called when tab completing.
+     * @return The static tabcomplete, or null if the tabcomplete depends on the context
+     */
+    default @Nullable StaticSuggestions getStaticSuggestions() {
+        return null;
+    }
+
+    /**
+     * Gets whether {@link #parse(ArgumentReader) parse} and {@link #getTabComplete(CommandContext) getTabComplete} must be called from the main server thread.
+     * If this returns {@code true}, tab completions that parse or complete this {@code ArgumentType} are always computed on the main thread.
+     * @return {@code true} if parsing or tab completing requires the main thread, {@code false} otherwise
+     */
+    default boolean requiresMainThread() {
+        return false;
+    }
+
+    /**
+     * Gets the kind of words that this {@code ArgumentType} parses.
+     * Two types whose kinds are different, and neither of which is {@link WordKind#ANY ANY}, can never both parse the same input
+     * @return The kind of words that this parses
+     */
+    default @NotNull WordKind getWordKind() {
+        return WordKind.ANY;
+    }
+
+    /**
+     * The kind of words that an {@code ArgumentType} parses
+     * @see #getWordKind()
+     */
+    enum WordKind {
+        /**
+         * Numbers, in any format that {@link com.datasiqn.commandcore.argument.ArgumentParsers ArgumentParsers} accepts
+         */
+        NUMBER,
+        /**
+         * {@code true} or {@code false}, ignoring case
+         */
+        BOOLEAN,
+        /**
+         * UUIDs with dashes
+         */
+        UUID,
+        /**
+         * Anything else
+         */
+        ANY;
+
+        /**
+         * Gets whether a type of this kind and a type of {@code other} kind can never parse the same input
+         * @param other The other kind
+         * @return {@code true} if they can never parse the same input, {@code false} otherwise
+         */
+        public boolean isDisjointFrom(@NotNull WordKind other) {
+            return this != ANY && other != ANY && this != other;
+        }
+    }
+
+    /**
+     * Represents a custom {@code ArgumentType} that parses to an enum value.
+     * <p>
+     * Enum values are matched ignoring case, using an index that is built once when the {@code ArgumentType} is created.
+     * Its tabcomplete is also {@link #getStaticSuggestions() static}, unless a subclass overrides {@link #getTabComplete(CommandContext) getTabComplete}
      * @param <T> The type of the enum
      */
     class EnumArgumentType<T extends Enum<T>> implements SimpleArgumentType<T> {
-        private final Class<T> enumClass;
         private final String enumName;
-        private final List<String> tabCompletes;
-        private final boolean uppercaseValues;
+        private final StaticSuggestions tabCompletes;
+        private final boolean staticTabComplete;
+        private final boolean directParse;
+        private final CaseInsensitiveIndex<T> index;
 
         /**
          * Creates a new {@code ArgumentType}
@@ -183,20 +282,41 @@ public interface ArgumentType<T> {
          * @param enumName The name of the enum
          */
         public EnumArgumentType(@NotNull Class<T> enumClass, @NotNull String enumName) {
-            this.enumClass = enumClass;
+            this(enumClass, val -> true, enumName);
+        }
+        /**
+         * Creates a new {@code ArgumentType} that only includes enum values that pass {@code filter}
+         * @param enumClass The enum's class
+         * @param filter The filter that enum values must pass through
+         * @param enumName The name of the enum
+         */
+        protected EnumArgumentType(@NotNull Class<T> enumClass, @NotNull Predicate<T> filter, @NotNull String enumName) {
             this.enumName = enumName;
-            this.tabCompletes = Arrays.stream(enumClass.getEnumConstants()).map(val -> val.name().toLowerCase(Locale.ROOT)).collect(Collectors.toList());
 
-            for (T enumConstant : enumClass.getEnumConstants()) {
+            T[] enumConstants = enumClass.getEnumConstants();
+            Map<String, T> allValues = new LinkedHashMap<>();
+            for (T enumConstant : enumConstants) allValues.put(enumConstant.name(), enumConstant);
+            // if multiple values have the same name when ignoring case, the first one is used, even if it doesn't pass the filter
+            CaseInsensitiveIndex<T> allIndex = new CaseInsensitiveIndex<>(allValues);
+            Map<String, T> filteredValues = new LinkedHashMap<>();
+            for (T enumConstant : enumConstants) {
+                if (allIndex.get(enumConstant.name()) == enumConstant && filter.test(enumConstant)) filteredValues.put(enumConstant.name(), enumConstant);
+            }
+            this.index = allValues.size() == filteredValues.size() ? allIndex : new CaseInsensitiveIndex<>(filteredValues);
+            this.tabCompletes = StaticSuggestions.of(Arrays.stream(enumConstants).filter(filter).map(val -> val.name().toLowerCase(Locale.ROOT)).collect(Collectors.toList()));
+            // static suggestions are used instead of getTabComplete, so they would hide the tabcomplete of a subclass
+            this.staticTabComplete = !overrides(getClass(), "getTabComplete", CommandContext.class);
+            // parse reads the index directly, so it would skip the parseWord or getTypeName of a subclass
+            this.directParse = !overrides(getClass(), "parseWord", String.class) && !overrides(getClass(), "getTypeName");
+
+            for (T enumConstant : enumConstants) {
                 for (char letter : enumConstant.name().toCharArray()) {
                     if (Character.isLetter(letter) && !Character.isUpperCase(letter)) {
-                        this.uppercaseValues = false;
                         Bukkit.getLogger().warning("[CommandCore] Enum " + enumName + " includes values that aren't in uppercase!");
                         return;
                     }
                 }
             }
-            this.uppercaseValues = true;
         }
 
         @Override
@@ -206,12 +326,33 @@ public interface ArgumentType<T> {
 
         @Override
         public @NotNull Result<T, None> parseWord(String word) {
-            return Result.resolve(() -> uppercaseValues ? Enum.valueOf(enumClass, word.toUpperCase()) : EnumUtils.findEnumInsensitiveCase(enumClass, word));
+            return Result.ofNullable(index.get(word), None.NONE);
+        }
+
+        @Override
+        public @NotNull Result<T, String> parse(@NotNull ArgumentReader reader) {
+            if (!directParse) return SimpleArgumentType.super.parse(reader);
+            CharSequence word = reader.nextWordSlice();
+            T value = index.get(word);
+            return value == null ? Result.error("Invalid " + enumName + " '" + word + "'") : Result.ok(value);
         }
 
         @Override
         public @NotNull List<String> getTabComplete(@NotNull CommandContext context) {
-            return tabCompletes;
+            return tabCompletes.asList();
+        }
+
+        @Override
+        public @Nullable StaticSuggestions getStaticSuggestions() {
+            return staticTabComplete ? tabCompletes : null;
+        }
+
+        private static boolean overrides(@NotNull Class<?> type, @NotNull String name, @NotNull Class<?> @NotNull ... parameterTypes) {
+            try {
+                return type.getMethod(name, parameterTypes).getDeclaringClass() != EnumArgumentType.class;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(name + " is always declared", e);
+            }
         }
     }
 
@@ -220,9 +361,6 @@ public interface ArgumentType<T> {
      * @param <T> The type of the enum
      */
     class FilteredEnumArgumentType<T extends Enum<T>> extends EnumArgumentType<T> {
-        private final Predicate<T> filter;
-        private final List<String> tabCompletes;
-
         /**
          * Creates a new {@code ArgumentType}
          * @param enumClass The enum's class
@@ -230,19 +368,7 @@ public interface ArgumentType<T> {
          * @param enumName The name of the enum. This is used when displaying an error message (Invalid {{@code enumName}} '{val}'
          */
         public FilteredEnumArgumentType(@NotNull Class<T> enumClass, Predicate<T> filter, String enumName) {
-            super(enumClass, enumName);
-            this.filter = filter;
-            this.tabCompletes = Arrays.stream(enumClass.getEnumConstants()).filter(filter).map(val -> val.name().toLowerCase(Locale.ROOT)).collect(Collectors.toList());
-        }
-
-        @Override
-        public @NotNull Result<T, None> parseWord(String word) {
-            return super.parseWord(word).andThen(val -> filter.test(val) ? Result.ok(val) : Result.error());
-        }
-
-        @Override
-        public @NotNull List<String> getTabComplete(@NotNull CommandContext context) {
-            return tabCompletes;
+            super(enumClass, filter, enumName);
         }
     }
 }
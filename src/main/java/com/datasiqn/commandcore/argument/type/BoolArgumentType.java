@@ -1,14 +1,21 @@
 package com.datasiqn.commandcore.argument.type;
 
 import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.command.StaticSuggestions;
 import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Arrays;
 import java.util.List;
 
 class BoolArgumentType implements SimpleArgumentType<Boolean> {
+    private final StaticSuggestions tabCompletes = StaticSuggestions.of("true", "false");
+
+    @Override
+    public @NotNull WordKind getWordKind() {
+        return WordKind.BOOLEAN;
+    }
+
     @Override
     public @NotNull String getTypeName() {
         return "boolean";
@@ -23,6 +30,11 @@ class BoolArgumentType implements SimpleArgumentType<Boolean> {
 
     @Override
     public @NotNull List<String> getTabComplete(@NotNull CommandContext context) {
-        return Arrays.asList("true", "false");
+        return tabCompletes.asList();
+    }
+
+    @Override
+    public @NotNull StaticSuggestions getStaticSuggestions() {
+        return tabCompletes;
     }
 }
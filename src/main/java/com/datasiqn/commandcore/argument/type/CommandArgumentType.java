@@ -19,7 +19,8 @@ class CommandArgumentType implements SimpleArgumentType<Command> {
 
     @Override
     public @NotNull Result<Command, None> parseWord(String word) {
-        return Result.ofNullable(CommandCore.getInstance().getCommandManager().getCommand(word, false), None.NONE);
+        // the same lookup as the root command, so aliases and names that differ in case (if case is ignored) are found too
+        return Result.ofNullable(CommandCore.getInstance().getCommandManager().findCommand(word), None.NONE);
     }
 
     @Override
@@ -1,10 +1,17 @@
 package com.datasiqn.commandcore.argument.type;
 
+import com.datasiqn.commandcore.argument.ArgumentParsers;
+import com.datasiqn.commandcore.argument.ArgumentReader;
 import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
 import org.jetbrains.annotations.NotNull;
 
 class DoubleArgumentType implements SimpleArgumentType<Double> {
+    @Override
+    public @NotNull WordKind getWordKind() {
+        return WordKind.NUMBER;
+    }
+
     @Override
     public @NotNull String getTypeName() {
         return "double";
@@ -12,6 +19,12 @@ class DoubleArgumentType implements SimpleArgumentType<Double> {
 
     @Override
     public @NotNull Result<Double, None> parseWord(@NotNull String word) {
-        return Result.resolve(() -> Double.parseDouble(word));
+        return ArgumentParsers.parseDouble(word);
+    }
+
+    @Override
+    public @NotNull Result<Double, String> parse(@NotNull ArgumentReader reader) {
+        CharSequence word = reader.nextWordSlice();
+        return ArgumentParsers.parseDouble(word).mapError(none -> "Invalid " + getTypeName() + " '" + word + "'");
     }
 }
@@ -0,0 +1,64 @@
+package com.datasiqn.commandcore.argument.type;
+
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.argument.ArgumentReader;
+import com.datasiqn.commandcore.argument.Arguments;
+import com.datasiqn.commandcore.argument.selector.EntitySelector;
+import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.resultapi.Result;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class EntitySelectorArgumentType implements ArgumentType<EntitySelector> {
+    private static final List<String> TARGETS = new ArrayList<>();
+
+    static {
+        for (EntitySelector.Target target : EntitySelector.Target.values()) TARGETS.add("@" + target.getCharacter());
+    }
+
+    @Override
+    public @NotNull Result<EntitySelector, String> parse(@NotNull ArgumentReader reader) {
+        return EntitySelector.parse(nextSelector(reader));
+    }
+
+    // options in brackets can contain spaces, so a selector only ends at a space once its brackets are closed.
+    // the rest of the line is only scanned through a slice, so it is never copied
+    private static @NotNull String nextSelector(@NotNull ArgumentReader reader) {
+        int start = reader.index();
+        CharSequence rest = reader.slice(start, reader.size());
+        int open = indexOf(rest, '[', 0, reader.peekWordEnd() - start);
+        if (rest.length() == 0 || rest.charAt(0) != '@' || open == -1) return reader.nextWord();
+        int close = indexOf(rest, ']', open, rest.length());
+        // without a closing bracket, the parser reports the first word as invalid
+        if (close == -1) return reader.nextWord();
+        int end = indexOf(rest, ' ', close, rest.length());
+        if (end == -1) end = rest.length();
+        int endIndex = start + end;
+        reader.jumpTo(endIndex >= reader.size() ? endIndex - 1 : endIndex);
+        return reader.splice(start, endIndex);
+    }
+
+    private static int indexOf(@NotNull CharSequence chars, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (chars.charAt(i) == c) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public @NotNull List<String> getTabComplete(@NotNull CommandContext context) {
+        Arguments args = context.getArguments();
+        String prefix = args.size() == 0 ? "" : args.getString(args.size() - 1);
+        List<String> tabComplete = new ArrayList<>(TARGETS);
+        if (CommandCore.isInitialized()) {
+            tabComplete.addAll(CommandCore.getInstance().getPlayerIndex().getNamesWithPrefix(prefix));
+        } else {
+            for (Player player : Bukkit.getOnlinePlayers()) tabComplete.add(player.getName());
+        }
+        return tabComplete;
+    }
+}
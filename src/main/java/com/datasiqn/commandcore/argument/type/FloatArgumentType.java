@@ -0,0 +1,30 @@
+package com.datasiqn.commandcore.argument.type;
+
+import com.datasiqn.commandcore.argument.ArgumentParsers;
+import com.datasiqn.commandcore.argument.ArgumentReader;
+import com.datasiqn.resultapi.None;
+import com.datasiqn.resultapi.Result;
+import org.jetbrains.annotations.NotNull;
+
+class FloatArgumentType implements SimpleArgumentType<Float> {
+    @Override
+    public @NotNull WordKind getWordKind() {
+        return WordKind.NUMBER;
+    }
+
+    @Override
+    public @NotNull String getTypeName() {
+        return "float";
+    }
+
+    @Override
+    public @NotNull Result<Float, None> parseWord(@NotNull String word) {
+        return ArgumentParsers.parseFloat(word);
+    }
+
+    @Override
+    public @NotNull Result<Float, String> parse(@NotNull ArgumentReader reader) {
+        CharSequence word = reader.nextWordSlice();
+        return ArgumentParsers.parseFloat(word).mapError(none -> "Invalid " + getTypeName() + " '" + word + "'");
+    }
+}
@@ -1,10 +1,17 @@
 package com.datasiqn.commandcore.argument.type;
 
+import com.datasiqn.commandcore.argument.ArgumentParsers;
+import com.datasiqn.commandcore.argument.ArgumentReader;
 import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
 import org.jetbrains.annotations.NotNull;
 
 class IntArgumentType implements SimpleArgumentType<Integer> {
+    @Override
+    public @NotNull WordKind getWordKind() {
+        return WordKind.NUMBER;
+    }
+
     @Override
     public @NotNull String getTypeName() {
         return "integer";
@@ -12,6 +19,12 @@ class IntArgumentType implements SimpleArgumentType<Integer> {
 
     @Override
     public @NotNull Result<Integer, None> parseWord(@NotNull String word) {
-        return Result.resolve(() -> Integer.parseInt(word));
+        return ArgumentParsers.parseInt(word);
+    }
+
+    @Override
+    public @NotNull Result<Integer, String> parse(@NotNull ArgumentReader reader) {
+        CharSequence word = reader.nextWordSlice();
+        return ArgumentParsers.parseInt(word).mapError(none -> "Invalid " + getTypeName() + " '" + word + "'");
     }
 }
@@ -0,0 +1,30 @@
+package com.datasiqn.commandcore.argument.type;
+
+import com.datasiqn.commandcore.argument.ArgumentParsers;
+import com.datasiqn.commandcore.argument.ArgumentReader;
+import com.datasiqn.resultapi.None;
+import com.datasiqn.resultapi.Result;
+import org.jetbrains.annotations.NotNull;
+
+class LongArgumentType implements SimpleArgumentType<Long> {
+    @Override
+    public @NotNull WordKind getWordKind() {
+        return WordKind.NUMBER;
+    }
+
+    @Override
+    public @NotNull String getTypeName() {
+        return "long";
+    }
+
+    @Override
+    public @NotNull Result<Long, None> parseWord(@NotNull String word) {
+        return ArgumentParsers.parseLong(word);
+    }
+
+    @Override
+    public @NotNull Result<Long, String> parse(@NotNull ArgumentReader reader) {
+        CharSequence word = reader.nextWordSlice();
+        return ArgumentParsers.parseLong(word).mapError(none -> "Invalid " + getTypeName() + " '" + word + "'");
+    }
+}
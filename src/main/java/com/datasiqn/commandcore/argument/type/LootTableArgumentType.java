@@ -1,6 +1,9 @@
 package com.datasiqn.commandcore.argument.type;
 
+import com.datasiqn.commandcore.argument.ArgumentReader;
+import com.datasiqn.commandcore.argument.CaseInsensitiveIndex;
 import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.command.StaticSuggestions;
 import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
 import org.bukkit.loot.LootTable;
@@ -8,11 +11,20 @@ import org.bukkit.loot.LootTables;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 class LootTableArgumentType implements SimpleArgumentType<LootTable> {
-    private final List<String> tabCompletes = Arrays.stream(LootTables.values()).map(LootTables::name).collect(Collectors.toList());
+    private final StaticSuggestions tabCompletes = StaticSuggestions.of(Arrays.stream(LootTables.values()).map(LootTables::name).collect(Collectors.toList()));
+    private final CaseInsensitiveIndex<LootTables> index;
+
+    public LootTableArgumentType() {
+        Map<String, LootTables> lootTables = new LinkedHashMap<>();
+        for (LootTables lootTable : LootTables.values()) lootTables.put(lootTable.name(), lootTable);
+        this.index = new CaseInsensitiveIndex<>(lootTables);
+    }
 
     @Override
     public @NotNull String getTypeName() {
@@ -21,11 +33,23 @@ class LootTableArgumentType implements SimpleArgumentType<LootTable> {
 
     @Override
     public @NotNull Result<LootTable, None> parseWord(String word) {
-        return Result.resolve(() -> LootTables.valueOf(word.toUpperCase())).map(LootTables::getLootTable);
+        return Result.ofNullable(index.get(word), None.NONE).map(LootTables::getLootTable);
+    }
+
+    @Override
+    public @NotNull Result<LootTable, String> parse(@NotNull ArgumentReader reader) {
+        CharSequence word = reader.nextWordSlice();
+        LootTables lootTable = index.get(word);
+        return lootTable == null ? Result.error("Invalid " + getTypeName() + " '" + word + "'") : Result.ok(lootTable.getLootTable());
     }
 
     @Override
     public @NotNull List<String> getTabComplete(@NotNull CommandContext context) {
+        return tabCompletes.asList();
+    }
+
+    @Override
+    public @NotNull StaticSuggestions getStaticSuggestions() {
         return tabCompletes;
     }
 }
@@ -7,11 +7,9 @@ import org.jetbrains.annotations.NotNull;
 class NameArgumentType implements ArgumentType<String> {
     @Override
     public @NotNull Result<String, String> parse(@NotNull ArgumentReader reader) {
-        StringBuilder builder = new StringBuilder();
-        builder.append(reader.get());
-        while (!reader.atEnd()) {
-            builder.append(reader.next());
-        }
-        return Result.ok(builder.toString());
+        reader.get();
+        String name = reader.splice(reader.index());
+        reader.jumpTo(reader.size() - 1);
+        return Result.ok(name);
     }
 }
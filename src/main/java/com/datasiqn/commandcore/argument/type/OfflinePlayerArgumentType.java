@@ -0,0 +1,42 @@
+package com.datasiqn.commandcore.argument.type;
+
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.argument.Arguments;
+import com.datasiqn.commandcore.argument.OfflinePlayerLookup;
+import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.managers.OfflinePlayerCache;
+import com.datasiqn.resultapi.None;
+import com.datasiqn.resultapi.Result;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+class OfflinePlayerArgumentType implements SimpleArgumentType<OfflinePlayerLookup> {
+    @Override
+    public @NotNull String getTypeName() {
+        return "player";
+    }
+
+    @Override
+    public @NotNull Result<OfflinePlayerLookup, None> parseWord(String word) {
+        if (!OfflinePlayerLookup.isValidName(word)) return Result.error(None.NONE);
+        OfflinePlayerCache cache = getCache();
+        // a name that isn't cached is still valid, it just has to be looked up when the player is needed
+        return Result.ok(new OfflinePlayerLookup(word, cache == null ? null : cache.getUniqueId(word), cache));
+    }
+
+    @Override
+    public @NotNull List<String> getTabComplete(@NotNull CommandContext context) {
+        OfflinePlayerCache cache = getCache();
+        if (cache == null) return Collections.emptyList();
+        Arguments args = context.getArguments();
+        return cache.getNamesWithPrefix(args.size() == 0 ? "" : args.getString(args.size() - 1));
+    }
+
+    private static @Nullable OfflinePlayerCache getCache() {
+        // argument types can be used without initializing CommandCore
+        return CommandCore.isInitialized() ? CommandCore.getInstance().getOfflinePlayerCache() : null;
+    }
+}
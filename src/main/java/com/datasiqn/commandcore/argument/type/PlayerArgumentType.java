@@ -1,11 +1,15 @@
 package com.datasiqn.commandcore.argument.type;
 
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.argument.Arguments;
 import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.managers.PlayerIndex;
 import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -18,11 +22,21 @@ class PlayerArgumentType implements SimpleArgumentType<Player> {
 
     @Override
     public @NotNull Result<Player, None> parseWord(String word) {
-        return Result.ofNullable(Bukkit.getPlayerExact(word), None.NONE);
+        PlayerIndex index = getIndex();
+        return Result.ofNullable(index == null ? Bukkit.getPlayerExact(word) : index.getPlayer(word), None.NONE);
     }
 
     @Override
     public @NotNull List<String> getTabComplete(@NotNull CommandContext context) {
-        return Bukkit.getOnlinePlayers().stream().map(Player::getName).collect(Collectors.toList());
+        PlayerIndex index = getIndex();
+        if (index == null) return Bukkit.getOnlinePlayers().stream().map(Player::getName).collect(Collectors.toList());
+        // the last argument is the word that is being completed, so only the names that could match it are returned
+        Arguments args = context.getArguments();
+        return index.getNamesWithPrefix(args.size() == 0 ? "" : args.getString(args.size() - 1));
+    }
+
+    static @Nullable PlayerIndex getIndex() {
+        // argument types can be used without initializing CommandCore
+        return CommandCore.isInitialized() ? CommandCore.getInstance().getPlayerIndex() : null;
     }
 }
@@ -22,4 +22,9 @@ class RangedIntArgumentType implements ArgumentType<Integer> {
                 .andThen(num -> num < min ? Result.error("Integer must not be below " + min) : Result.ok(num))
                 .andThen(num -> num > max ? Result.error("Integer must not be above " + max) : Result.ok(num));
     }
+
+    @Override
+    public @NotNull WordKind getWordKind() {
+        return WordKind.NUMBER;
+    }
 }
@@ -1,17 +1,30 @@
 package com.datasiqn.commandcore.argument.type;
 
+import com.datasiqn.commandcore.argument.ArgumentParsers;
+import com.datasiqn.commandcore.argument.ArgumentReader;
 import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
 import org.jetbrains.annotations.NotNull;
 
 class UuidArgumentType implements SimpleArgumentType<java.util.UUID> {
+    @Override
+    public @NotNull WordKind getWordKind() {
+        return WordKind.UUID;
+    }
+
     @Override
     public @NotNull String getTypeName() {
         return "UUID";
     }
 
     @Override
-    public @NotNull Result<java.util.UUID, None> parseWord(String word) {
-        return Result.resolve(() -> java.util.UUID.fromString(word));
+    public @NotNull Result<java.util.UUID, None> parseWord(@NotNull String word) {
+        return ArgumentParsers.parseUuid(word);
+    }
+
+    @Override
+    public @NotNull Result<java.util.UUID, String> parse(@NotNull ArgumentReader reader) {
+        CharSequence word = reader.nextWordSlice();
+        return ArgumentParsers.parseUuid(word).mapError(none -> "Invalid " + getTypeName() + " '" + word + "'");
     }
 }
@@ -40,4 +40,10 @@ class VectorArgumentType implements ArgumentType<Vector> {
         Vector vector = targetBlock.getLocation().toVector();
         return Collections.singletonList(vector.getBlockX() + " " + vector.getBlockY() + " " + vector.getBlockZ());
     }
+
+    @Override
+    public boolean requiresMainThread() {
+        // ray tracing accesses the world
+        return true;
+    }
 }
@@ -25,4 +25,10 @@ class WorldArgumentType implements SimpleArgumentType<World> {
     public @NotNull List<String> getTabComplete(@NotNull CommandContext context) {
         return Bukkit.getWorlds().stream().map(World::getName).collect(Collectors.toList());
     }
+
+    @Override
+    public boolean requiresMainThread() {
+        // worlds are loaded and unloaded on the main thread
+        return true;
+    }
 }
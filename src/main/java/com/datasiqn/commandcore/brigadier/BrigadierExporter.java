@@ -0,0 +1,179 @@
+package com.datasiqn.commandcore.brigadier;
+
+import com.datasiqn.commandcore.argument.type.ArgumentType;
+import com.datasiqn.commandcore.argument.type.SimpleArgumentType;
+import com.datasiqn.commandcore.command.Command;
+import com.datasiqn.commandcore.command.StaticSuggestions;
+import com.datasiqn.commandcore.command.builder.ArgumentBuilder;
+import com.datasiqn.commandcore.command.builder.CommandNode;
+import com.datasiqn.commandcore.command.builder.LiteralBuilder;
+import com.datasiqn.commandcore.managers.CommandManager;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.arguments.BoolArgumentType;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.FloatArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.LongArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Translates the commands of a {@code CommandManager} into a Brigadier tree, so that clients can parse and complete them without asking the server.
+ * <p>
+ * Literals are exported as literals, and number and boolean arguments are exported as the matching Brigadier type.
+ * Case-sensitive arguments with a small number of {@link StaticSuggestions static suggestions} are exported as one literal for each suggestion, since clients can only complete literals on their own.
+ * Arguments that only ever parse words that Brigadier allows in {@link StringArgumentType#word() words}, such as UUIDs and enums, are exported as words that ask the server for completions.
+ * An argument that Brigadier can't represent is exported as a greedy string, and everything after it is completed by the server.
+ * <p>
+ * The exported tree is only used by clients. Every node executes {@code command}, which should run the whole input through Bukkit, just like before.
+ * @param <S> The type of the command source
+ */
+public final class BrigadierExporter<S> {
+    private static final int MAX_EXPANDED_SUGGESTIONS = 64;
+
+    private final com.mojang.brigadier.Command<S> command;
+    private final SuggestionProvider<S> suggestions;
+    private final Function<S, CommandSender> senderGetter;
+    private final Map<CommandNode<?>, List<com.mojang.brigadier.tree.CommandNode<S>>> exported = new IdentityHashMap<>();
+
+    /**
+     * Creates a new {@code BrigadierExporter}
+     * @param command The command that every executable node runs
+     * @param suggestions The suggestions of every argument that has to be completed by the server
+     * @param senderGetter A function that gets the Bukkit sender of a source, which is used to hide commands that the sender doesn't have permission for
+     */
+    public BrigadierExporter(@NotNull com.mojang.brigadier.Command<S> command, @NotNull SuggestionProvider<S> suggestions, @NotNull Function<S, CommandSender> senderGetter) {
+        this.command = command;
+        this.suggestions = suggestions;
+        this.senderGetter = senderGetter;
+    }
+
+    /**
+     * Exports every command as a child of a literal
+     * @param label The name of the root literal, which is the label of the root command
+     * @param requirement The requirement of the root literal
+     * @param manager The command manager that contains the commands to export
+     * @return The root literal
+     */
+    public @NotNull LiteralCommandNode<S> export(@NotNull String label, @NotNull Predicate<S> requirement, @NotNull CommandManager manager) {
+        LiteralArgumentBuilder<S> root = LiteralArgumentBuilder.<S>literal(label).requires(requirement).executes(command);
+        // aliases share their nodes with the command, so every tree is only exported once
+        Map<Command, List<com.mojang.brigadier.tree.CommandNode<S>>> commandChildren = new IdentityHashMap<>();
+        for (String name : manager.getCommandNames(true)) {
+            Command cmd = manager.getCommand(name, manager.isAlias(name));
+            if (cmd == null) continue;
+            String permission = cmd.getPermissionString();
+            LiteralArgumentBuilder<S> literal = LiteralArgumentBuilder.<S>literal(name).executes(command);
+            if (permission != null) literal.requires(source -> senderGetter.apply(source).hasPermission(permission));
+            for (com.mojang.brigadier.tree.CommandNode<S> child : commandChildren.computeIfAbsent(cmd, this::exportCommand)) literal.then(child);
+            root.then(literal);
+        }
+        exported.clear();
+        return root.build();
+    }
+
+    private @NotNull List<com.mojang.brigadier.tree.CommandNode<S>> exportCommand(@NotNull Command cmd) {
+        List<CommandNode<?>> nodes = cmd.getNodes();
+        if (nodes == null) return Collections.singletonList(serverCompleted("args"));
+        List<com.mojang.brigadier.tree.CommandNode<S>> children = new ArrayList<>();
+        for (CommandNode<?> node : nodes) children.addAll(exportNode(node));
+        return children;
+    }
+
+    private @NotNull List<com.mojang.brigadier.tree.CommandNode<S>> exportNode(@NotNull CommandNode<?> node) {
+        List<com.mojang.brigadier.tree.CommandNode<S>> cached = exported.get(node);
+        if (cached != null) return cached;
+        List<com.mojang.brigadier.tree.CommandNode<S>> result = translate(node);
+        exported.put(node, result);
+        return result;
+    }
+
+    private @NotNull List<com.mojang.brigadier.tree.CommandNode<S>> translate(@NotNull CommandNode<?> node) {
+        if (node instanceof LiteralBuilder) {
+            return Collections.singletonList(withChildren(LiteralArgumentBuilder.literal(((LiteralBuilder) node).getLiteral()), node));
+        }
+        if (!(node instanceof ArgumentBuilder)) return Collections.singletonList(serverCompleted("args"));
+        ArgumentBuilder<?> argument = (ArgumentBuilder<?>) node;
+        ArgumentType<?> type = argument.getType();
+        StaticSuggestions staticSuggestions = node.getStaticSuggestions();
+        // number and boolean types are completed by the client
+        com.mojang.brigadier.arguments.ArgumentType<?> brigadierType = toBrigadier(type);
+        if (brigadierType != null) return Collections.singletonList(withChildren(argument(argument.getName(), brigadierType), node));
+        if (staticSuggestions != null && canExpand(type, staticSuggestions)) {
+            List<com.mojang.brigadier.tree.CommandNode<S>> literals = new ArrayList<>();
+            for (String suggestion : staticSuggestions.asList()) literals.add(withChildren(LiteralArgumentBuilder.literal(suggestion), node));
+            return literals;
+        }
+        if (!isWord(type, staticSuggestions)) return Collections.singletonList(serverCompleted(argument.getName()));
+        return Collections.singletonList(withChildren(this.<String>argument(argument.getName(), StringArgumentType.word()).suggests(suggestions), node));
+    }
+
+    private @NotNull com.mojang.brigadier.tree.CommandNode<S> withChildren(@NotNull com.mojang.brigadier.builder.ArgumentBuilder<S, ?> builder, @NotNull CommandNode<?> node) {
+        if (node.getExecutor() != null) builder.executes(command);
+        for (CommandNode<?> child : node.getChildren()) {
+            for (com.mojang.brigadier.tree.CommandNode<S> exportedChild : exportNode(child)) builder.then(exportedChild);
+        }
+        return builder.build();
+    }
+
+    private @NotNull com.mojang.brigadier.tree.CommandNode<S> serverCompleted(@NotNull String name) {
+        return this.<String>argument(name, StringArgumentType.greedyString()).suggests(suggestions).executes(command).build();
+    }
+
+    private <T> @NotNull RequiredArgumentBuilder<S, T> argument(@NotNull String name, @NotNull com.mojang.brigadier.arguments.ArgumentType<T> type) {
+        return RequiredArgumentBuilder.argument(name, type);
+    }
+
+    private static boolean canExpand(@NotNull ArgumentType<?> type, @NotNull StaticSuggestions suggestions) {
+        if (!(type instanceof SimpleArgumentType) || suggestions.size() > MAX_EXPANDED_SUGGESTIONS) return false;
+        SimpleArgumentType<?> simpleType = (SimpleArgumentType<?>) type;
+        for (String suggestion : suggestions.asList()) {
+            if (suggestion.isEmpty() || suggestion.indexOf(' ') != -1) return false;
+            // literals are matched case-sensitively by the client, so a type that also parses other cases would reject input that the server accepts
+            String upper = suggestion.toUpperCase(Locale.ROOT);
+            String lower = suggestion.toLowerCase(Locale.ROOT);
+            if (!upper.equals(suggestion) && simpleType.parseWord(upper).isOk()) return false;
+            if (!lower.equals(suggestion) && simpleType.parseWord(lower).isOk()) return false;
+        }
+        return true;
+    }
+
+    // only types that never parse anything outside of the characters that clients allow in words can be exported as a word
+    private static boolean isWord(@NotNull ArgumentType<?> type, @Nullable StaticSuggestions suggestions) {
+        if (type == ArgumentType.UUID) return true;
+        if (type != ArgumentType.LOOT_TABLE && !(type instanceof ArgumentType.EnumArgumentType)) return false;
+        // enums and loot tables parse exactly their suggestions, ignoring case
+        if (suggestions == null) return false;
+        for (String suggestion : suggestions.asList()) {
+            for (int i = 0; i < suggestion.length(); i++) {
+                if (!StringReader.isAllowedInUnquotedString(suggestion.charAt(i))) return false;
+            }
+        }
+        return true;
+    }
+
+    private static @Nullable com.mojang.brigadier.arguments.ArgumentType<?> toBrigadier(@NotNull ArgumentType<?> type) {
+        if (type == ArgumentType.INTEGER) return IntegerArgumentType.integer();
+        if (type == ArgumentType.NATURAL_NUMBER) return IntegerArgumentType.integer(1);
+        if (type == ArgumentType.LONG) return LongArgumentType.longArg();
+        if (type == ArgumentType.DOUBLE) return DoubleArgumentType.doubleArg();
+        if (type == ArgumentType.FLOAT) return FloatArgumentType.floatArg();
+        if (type == ArgumentType.BOOLEAN) return BoolArgumentType.bool();
+        return null;
+    }
+}
@@ -1,10 +1,12 @@
 package com.datasiqn.commandcore.command;
 
+import com.datasiqn.commandcore.command.builder.CommandNode;
 import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -41,6 +43,15 @@ public interface Command {
         return new TabComplete(Collections.emptyList(), "");
     }
 
+    /**
+     * Gets the tabcomplete for this command executor from a thread other than the main server thread
+     * @param context The context in which this command was tab completed
+     * @return The tab completions, or null if they can only be computed on the main thread
+     */
+    default @Nullable TabComplete tabCompleteAsync(CommandContext context) {
+        return null;
+    }
+
     /**
      * Gets the permission for this command, registered in the plugin.yml file
      * @return The permission, or null if it doesn't require one
@@ -70,4 +81,23 @@ public interface Command {
      * @return The usages
      */
     @NotNull List<String> getUsages();
+
+    /**
+     * Gets the usages for this command as {@code Usage}s, which can be inspected or rendered one at a time.
+     * By default, each string from {@link #getUsages()} is wrapped in a single {@link Usage.Kind#RAW RAW} element
+     * @return The usages
+     */
+    default @NotNull List<Usage> getStructuredUsages() {
+        List<Usage> usages = new ArrayList<>();
+        for (String usage : getUsages()) usages.add(usage.isEmpty() ? Usage.empty() : Usage.empty().then(Usage.Element.raw(usage)));
+        return usages;
+    }
+
+    /**
+     * Gets the nodes directly under this command, in the order they were declared in. This is used to export the command tree to other command systems
+     * @return An unmodifiable view of the nodes, or null if this command isn't made of nodes
+     */
+    default @Nullable List<CommandNode<?>> getNodes() {
+        return null;
+    }
 }
@@ -0,0 +1,150 @@
+package com.datasiqn.commandcore.command;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a set of tab complete values that never change.
+ * <p>
+ * The values are sorted once when this is created, so finding all values that start with a prefix is a binary search that returns a view instead of a copy.
+ */
+public final class StaticSuggestions {
+    private static final StaticSuggestions EMPTY = new StaticSuggestions(new String[0], false);
+
+    private final String[] sorted;
+    private final List<String> view;
+    private final boolean ignoreCase;
+
+    private StaticSuggestions(String @NotNull [] sorted, boolean ignoreCase) {
+        this.sorted = sorted;
+        this.view = Collections.unmodifiableList(Arrays.asList(sorted));
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Gets all values, in their natural order
+     * @return An unmodifiable view of all values
+     */
+    @UnmodifiableView
+    public @NotNull List<String> asList() {
+        return view;
+    }
+
+    /**
+     * Gets all values that start with {@code prefix}, in their natural order (or ignoring case, if this was created with {@link #ofIgnoreCase(Collection)})
+     * @param prefix The prefix
+     * @return An unmodifiable view of all values that start with {@code prefix}
+     */
+    @UnmodifiableView
+    public @NotNull List<String> withPrefix(@NotNull CharSequence prefix) {
+        if (prefix.length() == 0) return view;
+        int from = lowerBound(prefix, false);
+        int to = lowerBound(prefix, true);
+        return view.subList(from, to);
+    }
+
+    /**
+     * Gets the number of values
+     * @return The number of values
+     */
+    public int size() {
+        return sorted.length;
+    }
+
+    // finds the first value that compares greater than or equal to (or strictly greater than, if exclusive) the prefix
+    private int lowerBound(@NotNull CharSequence prefix, boolean exclusive) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int compared = comparePrefix(sorted[middle], prefix);
+            if (compared < 0 || (exclusive && compared == 0)) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    // compares only the first prefix.length() characters, so every value that starts with prefix compares as equal
+    private int comparePrefix(@NotNull String value, @NotNull CharSequence prefix) {
+        int length = Math.min(value.length(), prefix.length());
+        for (int i = 0; i < length; i++) {
+            char a = value.charAt(i);
+            char b = prefix.charAt(i);
+            if (a == b) continue;
+            if (ignoreCase) {
+                // the same folding as String.CASE_INSENSITIVE_ORDER, so it agrees with the sort order
+                a = Character.toLowerCase(Character.toUpperCase(a));
+                b = Character.toLowerCase(Character.toUpperCase(b));
+                if (a == b) continue;
+            }
+            return a - b;
+        }
+        return value.length() < prefix.length() ? -1 : 0;
+    }
+
+    /**
+     * Creates a new {@code StaticSuggestions}
+     * @param values The values
+     * @return The newly created {@code StaticSuggestions}
+     */
+    @Contract("_ -> new")
+    public static @NotNull StaticSuggestions of(@NotNull String @NotNull ... values) {
+        String[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return new StaticSuggestions(sorted, false);
+    }
+
+    /**
+     * Creates a new {@code StaticSuggestions}
+     * @param values The values
+     * @return The newly created {@code StaticSuggestions}
+     */
+    @Contract("_ -> new")
+    public static @NotNull StaticSuggestions of(@NotNull Collection<String> values) {
+        return of(values.toArray(new String[0]));
+    }
+
+    /**
+     * Creates a new {@code StaticSuggestions} that ignores case when finding values that start with a prefix
+     * @param values The values
+     * @return The newly created {@code StaticSuggestions}
+     */
+    @Contract("_ -> new")
+    public static @NotNull StaticSuggestions ofIgnoreCase(@NotNull Collection<String> values) {
+        String[] sorted = values.toArray(new String[0]);
+        Arrays.sort(sorted, String.CASE_INSENSITIVE_ORDER);
+        return new StaticSuggestions(sorted, true);
+    }
+
+    /**
+     * Combines multiple {@code StaticSuggestions} into one. The combined {@code StaticSuggestions} only ignores case if all of {@code suggestions} do
+     * @param suggestions The suggestions to combine
+     * @return The combined {@code StaticSuggestions}
+     */
+    public static @NotNull StaticSuggestions merge(@NotNull Collection<StaticSuggestions> suggestions) {
+        if (suggestions.isEmpty()) return EMPTY;
+        if (suggestions.size() == 1) return suggestions.iterator().next();
+        List<String> values = new ArrayList<>();
+        boolean ignoreCase = true;
+        for (StaticSuggestions suggestion : suggestions) {
+            values.addAll(suggestion.view);
+            ignoreCase &= suggestion.ignoreCase;
+        }
+        return ignoreCase ? ofIgnoreCase(values) : of(values);
+    }
+
+    /**
+     * Gets a {@code StaticSuggestions} with no values
+     * @return An empty {@code StaticSuggestions}
+     */
+    public static @NotNull StaticSuggestions empty() {
+        return EMPTY;
+    }
+}
@@ -1,5 +1,9 @@
 package com.datasiqn.commandcore.command;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -7,6 +11,7 @@ import java.util.List;
  */
 public class TabComplete {
     private final List<String> values;
+    private final List<StaticSuggestions> staticSuggestions;
     private final String matchingString;
 
     /**
@@ -15,18 +20,48 @@ public class TabComplete {
      * @param matchingString The matching string used to filter {@code values}
      */
     public TabComplete(List<String> values, String matchingString) {
+        this(values, Collections.emptyList(), matchingString);
+    }
+
+    /**
+     * Creates a new {@code TabComplete}
+     * @param values The tab complete values that are not static
+     * @param staticSuggestions The static tab complete values
+     * @param matchingString The matching string used to filter {@code values} and {@code staticSuggestions}
+     */
+    public TabComplete(List<String> values, @NotNull List<StaticSuggestions> staticSuggestions, String matchingString) {
         this.values = values;
+        this.staticSuggestions = staticSuggestions;
         this.matchingString = matchingString;
     }
 
     /**
-     * Gets the tab complete values
+     * Gets the tab complete values, including all static values
      * @return The tab complete values
      */
     public List<String> values() {
+        if (staticSuggestions.isEmpty()) return values;
+        List<String> allValues = new ArrayList<>(values);
+        for (StaticSuggestions suggestions : staticSuggestions) allValues.addAll(suggestions.asList());
+        return allValues;
+    }
+
+    /**
+     * Gets the tab complete values that are not static
+     * @return The tab complete values that are not static
+     */
+    public List<String> getDynamicValues() {
         return values;
     }
 
+    /**
+     * Gets the static tab complete values
+     * @return The static tab complete values
+     */
+    public @NotNull List<StaticSuggestions> getStaticSuggestions() {
+        return staticSuggestions;
+    }
+
     /**
      * Gets the string used to filter tab complete values
      * @return The matching string
@@ -0,0 +1,219 @@
+package com.datasiqn.commandcore.command;
+
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a single usage of a command, as a sequence of {@link Element elements}.
+ * <p>
+ * Every usage points to the usage it extends, so usages that start the same way share those elements instead of copying them.
+ * Nothing is rendered until {@link #render()} or {@link #toString()} is called.
+ */
+public final class Usage {
+    private static final Usage EMPTY = new Usage(null, null);
+
+    private final Usage parent;
+    private final Element element;
+    private final int size;
+
+    private Usage(@Nullable Usage parent, @Nullable Element element) {
+        this.parent = parent;
+        this.element = element;
+        this.size = parent == null ? 0 : parent.size + 1;
+    }
+
+    /**
+     * Creates a new usage that is this usage followed by {@code element}
+     * @param element The element to add
+     * @return The new usage
+     */
+    @Contract("_ -> new")
+    public @NotNull Usage then(@NotNull Element element) {
+        return new Usage(this, element);
+    }
+
+    /**
+     * Gets the usage that this usage extends
+     * @return The usage that this usage extends, or null if this usage has no elements
+     */
+    public @Nullable Usage getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the last element of this usage
+     * @return The last element, or null if this usage has no elements
+     */
+    public @Nullable Element getLast() {
+        return element;
+    }
+
+    /**
+     * Gets the number of elements in this usage
+     * @return The number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets all elements of this usage, in order
+     * @return An unmodifiable list of all elements
+     */
+    @UnmodifiableView
+    public @NotNull List<Element> getElements() {
+        Element[] elements = new Element[size];
+        for (Usage usage = this; usage.parent != null; usage = usage.parent) elements[usage.size - 1] = usage.element;
+        return Collections.unmodifiableList(Arrays.asList(elements));
+    }
+
+    /**
+     * Renders this usage with colors, with each element separated by a space
+     * @return The rendered usage
+     */
+    public @NotNull String render() {
+        return join(true);
+    }
+
+    /**
+     * Gets this usage without colors, with each element separated by a space
+     * @return The usage without colors
+     */
+    @Override
+    public @NotNull String toString() {
+        return join(false);
+    }
+
+    private @NotNull String join(boolean colored) {
+        StringBuilder builder = new StringBuilder();
+        for (Element element : getElements()) {
+            if (builder.length() != 0) builder.append(' ');
+            builder.append(colored ? element.render() : element.toString());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Gets a usage with no elements
+     * @return An empty usage
+     */
+    public static @NotNull Usage empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Represents a single literal or argument in a {@code Usage}
+     */
+    public static final class Element {
+        private final Kind kind;
+        private final String name;
+
+        private Element(@NotNull Kind kind, @NotNull String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+
+        /**
+         * Gets the kind of this element
+         * @return The kind
+         */
+        public @NotNull Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Gets the name of this element. For {@link Kind#RAW RAW} elements, this is the already rendered text
+         * @return The name
+         */
+        public @NotNull String getName() {
+            return name;
+        }
+
+        /**
+         * Renders this element with colors
+         * @return The rendered element
+         */
+        public @NotNull String render() {
+            switch (kind) {
+                case LITERAL: return ChatColor.WHITE + name;
+                case ARGUMENT: return ChatColor.GOLD + "<" + name + ">";
+                case OPTIONAL_ARGUMENT: return ChatColor.GREEN + "[" + name + "]";
+                default: return name;
+            }
+        }
+
+        /**
+         * Gets this element without colors
+         * @return The element without colors
+         */
+        @Override
+        public @NotNull String toString() {
+            switch (kind) {
+                case ARGUMENT: return "<" + name + ">";
+                case OPTIONAL_ARGUMENT: return "[" + name + "]";
+                case RAW: return String.valueOf(ChatColor.stripColor(name));
+                default: return name;
+            }
+        }
+
+        /**
+         * Creates a literal element
+         * @param literal The literal
+         * @return The element
+         */
+        @Contract("_ -> new")
+        public static @NotNull Element literal(@NotNull String literal) {
+            return new Element(Kind.LITERAL, literal);
+        }
+
+        /**
+         * Creates an argument element
+         * @param name The name of the argument
+         * @param optional Whether the argument is optional or not
+         * @return The element
+         */
+        @Contract("_, _ -> new")
+        public static @NotNull Element argument(@NotNull String name, boolean optional) {
+            return new Element(optional ? Kind.OPTIONAL_ARGUMENT : Kind.ARGUMENT, name);
+        }
+
+        /**
+         * Creates an element from text that is already rendered
+         * @param text The rendered text
+         * @return The element
+         */
+        @Contract("_ -> new")
+        public static @NotNull Element raw(@NotNull String text) {
+            return new Element(Kind.RAW, text);
+        }
+    }
+
+    /**
+     * The kind of a {@code Usage} element
+     */
+    public enum Kind {
+        /**
+         * A literal word
+         */
+        LITERAL,
+        /**
+         * A required argument
+         */
+        ARGUMENT,
+        /**
+         * An argument that can be left out
+         */
+        OPTIONAL_ARGUMENT,
+        /**
+         * Text that was rendered by a custom node
+         */
+        RAW,
+    }
+}
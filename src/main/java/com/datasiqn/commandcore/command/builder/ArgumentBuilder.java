@@ -3,10 +3,12 @@ package com.datasiqn.commandcore.command.builder;
 import com.datasiqn.commandcore.argument.ArgumentReader;
 import com.datasiqn.commandcore.argument.type.ArgumentType;
 import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.command.StaticSuggestions;
+import com.datasiqn.commandcore.command.Usage;
 import com.datasiqn.resultapi.Result;
-import org.bukkit.ChatColor;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -28,11 +30,37 @@ public class ArgumentBuilder<T> extends CommandNode<ArgumentBuilder<T>> {
         return type.getTabComplete(context);
     }
 
+    @Override
+    public @Nullable StaticSuggestions getStaticSuggestions() {
+        return type.getStaticSuggestions();
+    }
+
+    @Override
+    public boolean requiresMainThread() {
+        return type.requiresMainThread();
+    }
+
     @Override
     public @NotNull Result<T, String> parse(ArgumentReader reader) {
         return type.parse(reader);
     }
 
+    /**
+     * Gets the argument type of this node
+     * @return The argument type
+     */
+    public @NotNull ArgumentType<T> getType() {
+        return type;
+    }
+
+    /**
+     * Gets the name of the argument, which is shown in usages
+     * @return The name of the argument
+     */
+    public @NotNull String getName() {
+        return argName;
+    }
+
     @Override
     public String toString() {
         return "Argument(" + argName + ")";
@@ -40,7 +68,12 @@ public class ArgumentBuilder<T> extends CommandNode<ArgumentBuilder<T>> {
 
     @Override
     protected String getUsageArgument(boolean isOptional) {
-        return isOptional ? ChatColor.GREEN + "[" + argName + "]" : ChatColor.GOLD + "<" + argName + ">";
+        return getUsageElement(isOptional).render();
+    }
+
+    @Override
+    protected @NotNull Usage.Element getUsageElement(boolean isOptional) {
+        return Usage.Element.argument(argName, isOptional);
     }
 
     @Override
@@ -3,12 +3,17 @@ package com.datasiqn.commandcore.command.builder;
 import com.datasiqn.commandcore.CommandCore;
 import com.datasiqn.commandcore.argument.ArgumentReader;
 import com.datasiqn.commandcore.argument.Arguments;
-import com.datasiqn.commandcore.argument.StringArguments;
+import com.datasiqn.commandcore.argument.ParsedArguments;
+import com.datasiqn.commandcore.argument.type.ArgumentType;
 import com.datasiqn.commandcore.command.Command;
 import com.datasiqn.commandcore.command.CommandContext;
 import com.datasiqn.commandcore.command.TabComplete;
+import com.datasiqn.commandcore.command.Usage;
 import com.datasiqn.commandcore.command.builder.CommandLink.Executor;
 import com.datasiqn.commandcore.command.builder.CommandLink.Requirement;
+import com.datasiqn.commandcore.metrics.CommandMetrics;
+import com.datasiqn.commandcore.metrics.Phase;
+import com.datasiqn.commandcore.ratelimit.RateLimiter;
 import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
 import org.bukkit.ChatColor;
@@ -19,27 +24,38 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 class BuilderCommand implements Command {
     private final String name;
     private final String[] aliases;
     private final String description;
     private final String permission;
-    private final List<String> usages;
+    private volatile List<Usage> structuredUsages;
+    private volatile List<String> usages;
 
-    private final List<CommandNode<?>> nodes;
+    private final DispatchNode root;
     private final Executor executor;
     private final List<Requirement> requires;
+    private final List<RateLimiter> limits;
+    private final int maxDepth;
 
-    public BuilderCommand(@NotNull CommandBuilder commandBuilder, List<String> usages) {
+    public BuilderCommand(@NotNull CommandBuilder commandBuilder, DispatchNode root) {
+        // commands can be built without initializing CommandCore
+        this(commandBuilder, root, CommandCore.isInitialized() ? CommandCore.getInstance().getOptions().getMaxDepth() : Integer.MAX_VALUE);
+    }
+
+    public BuilderCommand(@NotNull CommandBuilder commandBuilder, DispatchNode root, int maxDepth) {
         this.name = commandBuilder.name;
         this.aliases = commandBuilder.aliases;
         this.description = commandBuilder.description;
         this.permission = commandBuilder.permission;
-        this.usages = usages;
-        this.nodes = commandBuilder.children;
+        this.root = root;
         this.executor = commandBuilder.executor;
         this.requires = commandBuilder.requires;
+        this.limits = commandBuilder.limits;
+        this.maxDepth = maxDepth;
     }
 
     @Override
@@ -59,19 +75,25 @@ class BuilderCommand implements Command {
         int size = args.size();
 
         if (size >= 1) {
-            if (nodes.isEmpty()) return Result.error(Collections.singletonList("Expected no parameters, but got parameters instead"));
+            if (root.getChildren().isEmpty()) return Result.error(Collections.singletonList("Expected no parameters, but got parameters instead"));
 
-            CurrentNode current = findCurrentNode(reader);
+            CommandMetrics metrics = getMetrics();
+            long parseStart = System.nanoTime();
+            // only async tab completions can be null
+            CurrentNode current = Objects.requireNonNull(findCurrentNode(reader, false));
             Result<CommandNode<?>, List<String>> resultNode = current.node;
+            DispatchNode resolved = current.nodes.isEmpty() ? null : current.nodes.get(current.nodes.size() - 1);
+            metrics.record(name, resultNode.isOk() && resolved != null ? resolved.getPath() : null, Phase.PARSE, System.nanoTime() - parseStart);
             if (resultNode.isError()) {
                 if (current.extraInput) {
                     return Result.error(Collections.singletonList("Expected end of input, but got extra parameters instead"));
                 }
                 List<String> exceptions = resultNode.unwrapError();
                 if (exceptions.isEmpty()) exceptions.add("Incorrect argument '" + reader.splice(reader.index()) + "'");
-                String rootCommand = CommandCore.getInstance().getOptions().getRootCommand();
+                // commands can be executed directly without initializing CommandCore
+                String rootCommand = CommandCore.isInitialized() ? CommandCore.getInstance().getOptions().getRootCommand() + " " : "";
                 String label = context.getLabel();
-                String correctSection = ChatColor.GRAY + rootCommand + " " + label + " " + reader.splice(0, reader.index());
+                String correctSection = ChatColor.GRAY + rootCommand + label + " " + reader.splice(0, reader.index());
                 String incorrectParameter = ChatColor.RED.toString() + ChatColor.UNDERLINE + reader.splice(reader.index());
                 exceptions.add(correctSection + incorrectParameter + ChatColor.RESET + ChatColor.RED + ChatColor.ITALIC + " <--[HERE]");
                 exceptions.add("");
@@ -80,50 +102,82 @@ class BuilderCommand implements Command {
             CommandNode<?> node = resultNode.unwrap();
             CommandContext newContext = buildContext(context, current);
             if (node.getExecutor() == null) return Result.error(Collections.emptyList());
-            Result<None, String> executeResult = node.executeWith(newContext);
-            if (executeResult.isError()) {
-                context.getSource().getSender().sendMessage(ChatColor.RED + executeResult.unwrapError());
+            String path = Objects.requireNonNull(resolved).getPath();
+            long requireStart = System.nanoTime();
+            // limits are checked first, so that senders can't spam commands with expensive requirements
+            Result<None, String> requireResult = CommandLink.testLimits(limits, node.limits, newContext);
+            if (requireResult.isOk()) requireResult = node.testRequirements(newContext);
+            metrics.record(name, path, Phase.REQUIREMENT, System.nanoTime() - requireStart);
+            if (requireResult.isError()) {
+                metrics.recordRequirementFailure(name);
+                context.getSource().getSender().sendMessage(ChatColor.RED + requireResult.unwrapError());
                 return Result.ok();
             }
+            long executeStart = System.nanoTime();
+            node.getExecutor().execute(newContext);
+            metrics.record(name, path, Phase.EXECUTE, System.nanoTime() - executeStart);
             return Result.ok();
         }
 
         if (executor == null) return Result.error(Collections.singletonList("Expected parameters, but got no parameters instead"));
-        Result<None, String> requireResult = requires.stream().map(requirement -> requirement.testRequirement(context)).reduce(Result.ok(), Result::and);
+        CommandMetrics metrics = getMetrics();
+        long requireStart = System.nanoTime();
+        Result<None, String> requireResult = CommandLink.testLimits(limits, context);
+        if (requireResult.isOk()) requireResult = requires.stream().map(requirement -> requirement.testRequirement(context)).reduce(Result.ok(), Result::and);
+        metrics.record(name, null, Phase.REQUIREMENT, System.nanoTime() - requireStart);
         if (requireResult.isError()) {
+            metrics.recordRequirementFailure(name);
             context.getSource().getSender().sendMessage(ChatColor.RED + requireResult.unwrapError());
             return Result.ok();
         }
+        long executeStart = System.nanoTime();
         executor.execute(context);
+        metrics.record(name, null, Phase.EXECUTE, System.nanoTime() - executeStart);
         return Result.ok();
     }
 
     @Override
     public @NotNull TabComplete tabComplete(@NotNull CommandContext context) {
+        // only async tab completions can be null
+        return Objects.requireNonNull(tabComplete(context, false));
+    }
+
+    @Override
+    public @Nullable TabComplete tabCompleteAsync(@NotNull CommandContext context) {
+        return tabComplete(context, true);
+    }
+
+    private @Nullable TabComplete tabComplete(@NotNull CommandContext context, boolean async) {
         Arguments args = context.getArguments();
 
         if (args.size() >= 1) {
             ArgumentReader reader = args.asReader();
             CommandContext newContext = context;
-            List<CommandNode<?>> nodeSet = nodes;
+            DispatchNode parent = root;
 
             String matchingString = args.getString(args.size() - 1);
 
             if (args.size() != 1) {
-                CurrentNode current = findCurrentNode(reader);
-                List<CommandNode<?>> nodeList = current.nodes;
+                CurrentNode current = findCurrentNode(reader, async);
+                if (current == null) return null;
+                List<DispatchNode> nodeList = current.nodes;
                 if (nodeList.size() != 0) {
-                    CommandNode<?> node = nodeList.get(nodeList.size() - 1);
+                    parent = nodeList.get(nodeList.size() - 1);
                     newContext = buildContext(context, current);
-                    nodeSet = node.getChildren();
                 }
                 matchingString = current.args.get(current.args.size() - 1);
             }
             List<String> tabcomplete = new ArrayList<>();
-            for (CommandNode<?> node : nodeSet) {
-                tabcomplete.addAll(node.getTabComplete(newContext));
+            List<DispatchNode> dynamicChildren = parent.getDynamicChildren();
+            if (async) {
+                for (DispatchNode node : dynamicChildren) {
+                    if (node.getNode().requiresMainThread()) return null;
+                }
+            }
+            for (DispatchNode node : dynamicChildren) {
+                tabcomplete.addAll(node.getNode().getTabComplete(newContext));
             }
-            return new TabComplete(tabcomplete, matchingString);
+            return new TabComplete(tabcomplete, parent.getStaticSuggestions(), matchingString);
         }
         return Command.super.tabComplete(context);
     }
@@ -150,79 +204,129 @@ class BuilderCommand implements Command {
 
     @Override
     public @NotNull List<String> getUsages() {
+        // usages are computed the first time they are needed, since most commands are never run with incorrect arguments
+        List<String> usages = this.usages;
+        if (usages == null) {
+            usages = Collections.unmodifiableList(getStructuredUsages().stream().map(Usage::render).collect(Collectors.toList()));
+            this.usages = usages;
+        }
         return usages;
     }
 
+    @Override
+    public @NotNull List<Usage> getStructuredUsages() {
+        List<Usage> structuredUsages = this.structuredUsages;
+        if (structuredUsages == null) {
+            List<Usage> collected = new ArrayList<>();
+            List<CommandNode<?>> children = getNodes();
+            if (executor != null && !CommandNode.hasOptionalChild(children)) collected.add(Usage.empty());
+            // unlike every other node, the children of a command are in the order they were declared in
+            for (CommandNode<?> child : children) child.collectUsages(Usage.empty(), executor != null, collected);
+            structuredUsages = Collections.unmodifiableList(collected);
+            this.structuredUsages = structuredUsages;
+        }
+        return structuredUsages;
+    }
+
+    @Override
+    public @NotNull List<CommandNode<?>> getNodes() {
+        List<CommandNode<?>> nodes = new ArrayList<>();
+        for (DispatchNode child : root.getChildren()) nodes.add(child.getNode());
+        return Collections.unmodifiableList(nodes);
+    }
+
+    private static @NotNull CommandMetrics getMetrics() {
+        // commands can be executed directly without initializing CommandCore
+        return CommandCore.isInitialized() ? CommandCore.getInstance().getMetrics() : CommandMetrics.disabled();
+    }
+
     @Contract("_, _ -> new")
     private @NotNull CommandContext buildContext(@NotNull CommandContext context, @NotNull CurrentNode result) {
-        return CommandCore.createContext(context.getSource(), context.getCommand(), context.getLabel(), new StringArguments(result.args));
+        return CommandCore.createContext(context.getSource(), context.getCommand(), context.getLabel(), new ParsedArguments(result.args, result.types, result.values));
     }
 
-    private @NotNull Result<ApplicableNode, List<String>> checkApplicable(@NotNull ArgumentReader reader, @NotNull List<CommandNode<?>> nodes) {
-        List<CommandNode<?>> options = new ArrayList<>();
-        List<String> exceptions = new ArrayList<>();
+    private @NotNull Result<ApplicableNode, List<String>> checkApplicable(@NotNull ArgumentReader reader, @NotNull DispatchNode parent) {
         if (reader.index() != 0 && !reader.atEnd()) reader.next();
         int beforeIndex = reader.index();
-        for (CommandNode<?> node : nodes) {
-            node.parse(reader).match(val -> options.add(node), e -> {
-                if (!e.isEmpty()) exceptions.add(e);
-            });
-            reader.jumpTo(beforeIndex);
-        }
-        if (options.isEmpty()) return Result.error(exceptions);
-        options.sort(CommandNode.getComparator());
-        options.get(0).parse(reader);
+        Result<DispatchNode.Match, List<String>> matched = parent.match(reader);
+        if (matched.isError()) return Result.error(matched.unwrapError());
         String arg;
         if (reader.atEnd()) arg = reader.splice(beforeIndex);
         else arg = reader.splice(beforeIndex, reader.index());
-        return Result.ok(new ApplicableNode(options.get(0), arg));
+        DispatchNode.Match match = matched.unwrap();
+        return Result.ok(new ApplicableNode(match.getNode(), arg, match.getValue()));
     }
 
-    @Contract("_ -> new")
-    private @NotNull CurrentNode findCurrentNode(@NotNull ArgumentReader reader) {
-        List<CommandNode<?>> nodeSet = nodes;
+    // returns null if async is true and an argument has to be parsed on the main thread
+    private @Nullable CurrentNode findCurrentNode(@NotNull ArgumentReader reader, boolean async) {
+        DispatchNode parent = root;
         List<String> args = new ArrayList<>();
-        List<CommandNode<?>> nodeList = new ArrayList<>();
-        CommandNode<?> node;
+        List<ArgumentType<?>> types = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        List<DispatchNode> nodeList = new ArrayList<>();
+        DispatchNode node;
         do {
-            if (nodeSet.isEmpty())
-                return new CurrentNode(Result.error(Collections.emptyList()), nodeList, args, true);
-            Result<ApplicableNode, List<String>> parseResult = checkApplicable(reader, nodeSet);
+            if (parent.getChildren().isEmpty())
+                return new CurrentNode(Result.error(Collections.emptyList()), nodeList, args, types, values, true);
+            if (nodeList.size() >= maxDepth) {
+                args.add(reader.splice(reader.index()));
+                types.add(null);
+                values.add(null);
+                List<String> exceptions = new ArrayList<>();
+                exceptions.add("Expected at most " + maxDepth + " parameters");
+                return new CurrentNode(Result.error(exceptions), nodeList, args, types, values, false);
+            }
+            if (async && parent.hasMainThreadChildren()) return null;
+            Result<ApplicableNode, List<String>> parseResult = checkApplicable(reader, parent);
             if (parseResult.isError()) {
                 args.add(reader.splice(reader.index()));
-                return new CurrentNode(Result.error(parseResult.unwrapError()), nodeList, args, false);
+                types.add(null);
+                values.add(null);
+                return new CurrentNode(Result.error(parseResult.unwrapError()), nodeList, args, types, values, false);
             }
             ApplicableNode applicableNode = parseResult.unwrap();
             node = applicableNode.node;
-            nodeSet = node.getChildren();
+            parent = node;
             nodeList.add(node);
             args.add(applicableNode.argument);
+            types.add(node.getType());
+            values.add(applicableNode.value);
 
-            if (reader.atEnd() && reader.get() == ' ') args.add("");
+            if (reader.atEnd() && reader.get() == ' ') {
+                args.add("");
+                types.add(null);
+                values.add(null);
+            }
         } while (!reader.atEnd());
-        return new CurrentNode(Result.ok(node), nodeList, args, false);
+        return new CurrentNode(Result.ok(node.getNode()), nodeList, args, types, values, false);
     }
 
     private static class ApplicableNode {
-        private final CommandNode<?> node;
+        private final DispatchNode node;
         private final String argument;
+        private final Object value;
 
-        private ApplicableNode(CommandNode<?> node, String argument) {
+        private ApplicableNode(DispatchNode node, String argument, Object value) {
             this.node = node;
             this.argument = argument;
+            this.value = value;
         }
     }
 
     private static class CurrentNode {
         private final Result<CommandNode<?>, List<String>> node;
-        private final List<CommandNode<?>> nodes;
+        private final List<DispatchNode> nodes;
         private final List<String> args;
+        private final List<ArgumentType<?>> types;
+        private final List<Object> values;
         private final boolean extraInput;
 
-        public CurrentNode(Result<CommandNode<?>, List<String>> node, List<CommandNode<?>> nodes, List<String> args, boolean extraInput) {
+        public CurrentNode(Result<CommandNode<?>, List<String>> node, List<DispatchNode> nodes, List<String> args, List<ArgumentType<?>> types, List<Object> values, boolean extraInput) {
             this.node = node;
             this.nodes = nodes;
             this.args = args;
+            this.types = types;
+            this.values = values;
             this.extraInput = extraInput;
         }
     }
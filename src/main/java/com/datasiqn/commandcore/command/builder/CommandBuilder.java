@@ -4,8 +4,6 @@ import com.datasiqn.commandcore.command.Command;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Represents a builder that creates commands
@@ -59,18 +57,7 @@ public class CommandBuilder extends CommandLink<CommandBuilder> {
      * @return The built {@link Command} instance
      */
     public @NotNull Command build() {
-        List<String> usages = new ArrayList<>();
-        if (executor != null) usages.add("");
-        boolean hasOptional = false;
-        boolean canBeOptional = false;
-        for (CommandNode<?> node : children) {
-            if (node.executor != null) hasOptional = true;
-            if (node.canBeOptional()) canBeOptional = true;
-            usages.addAll(node.getUsages(executor != null));
-        }
-        if (executor != null && hasOptional && canBeOptional) usages.remove(0);
-
-        return new BuilderCommand(this, usages);
+        return new BuilderCommand(this, DispatchNode.compile(this));
     }
 
     @Override
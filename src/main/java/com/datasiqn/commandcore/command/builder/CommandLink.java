@@ -1,14 +1,23 @@
 package com.datasiqn.commandcore.command.builder;
 
+import com.datasiqn.commandcore.CommandCore;
 import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.ratelimit.LimitScope;
+import com.datasiqn.commandcore.ratelimit.RateLimiter;
+import com.datasiqn.commandcore.task.TickingTask;
 import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
 
 /**
  * Represents a link in a command tree.
@@ -18,6 +27,7 @@ import java.util.List;
 public abstract class CommandLink<T> {
     protected final List<CommandNode<?>> children = new ArrayList<>();
     protected final List<Requirement> requires = new ArrayList<>();
+    protected final List<RateLimiter> limits = new ArrayList<>();
 
     protected Executor executor;
 
@@ -67,6 +77,55 @@ public abstract class CommandLink<T> {
         return requires(context -> context.getSource().getLocatableChecked().and(Result.ok()).or(Result.error("A sender with a location is required to run this")));
     }
 
+    /**
+     * Only allows each sender to run this once every {@code duration}
+     * @param duration The cooldown
+     * @see #cooldown(Duration, LimitScope)
+     * @return Itself, for chaining
+     */
+    public T cooldown(@NotNull Duration duration) {
+        return cooldown(duration, LimitScope.SENDER);
+    }
+
+    /**
+     * Only allows this to be run once every {@code duration}.
+     * This is the same as calling {@link #rateLimit(int, Duration, LimitScope) rateLimit} with 1 permit
+     * @param duration The cooldown
+     * @param scope Whether each sender has their own cooldown, or everyone shares one
+     * @return Itself, for chaining
+     */
+    public T cooldown(@NotNull Duration duration, @NotNull LimitScope scope) {
+        return rateLimit(1, duration, scope);
+    }
+
+    /**
+     * Only allows each sender to run this {@code permits} times every {@code period}
+     * @param permits The number of times this can be run every {@code period}
+     * @param period The period
+     * @see #rateLimit(int, Duration, LimitScope)
+     * @return Itself, for chaining
+     */
+    public T rateLimit(int permits, @NotNull Duration period) {
+        return rateLimit(permits, period, LimitScope.SENDER);
+    }
+
+    /**
+     * Only allows this to be run {@code permits} times every {@code period}.
+     * <p>
+     * Limits are checked before any {@link #requires(Requirement) requirement} is tested, and a permit is used up even if a requirement then fails.
+     * A limit on a {@code CommandBuilder} applies to every execution of the command, while a limit on a {@code CommandNode} only applies when that node is executed.
+     * If a limit has no permits left, the sender is told how long they have to wait, nothing else is run, and the permits taken from the other limits are given back
+     * @param permits The number of times this can be run every {@code period}
+     * @param period The period
+     * @param scope Whether each sender has their own permits, or everyone shares them
+     * @return Itself, for chaining
+     * @throws IllegalArgumentException If {@code permits} is less than 1, or {@code period} is not positive
+     */
+    public T rateLimit(int permits, @NotNull Duration period, @NotNull LimitScope scope) {
+        this.limits.add(new RateLimiter(permits, period, scope));
+        return getThis();
+    }
+
     /**
      * Adds a new node onto this command builder
      * @param node The node
@@ -87,6 +146,44 @@ public abstract class CommandLink<T> {
         return getThis();
     }
 
+    /**
+     * Sets an executor for this command that runs off the main server thread.
+     * <p>
+     * Requirements are still tested on the main thread. {@code executor} is then called on the executor set in {@link com.datasiqn.commandcore.InitOptions.Builder#asyncExecutor(java.util.concurrent.Executor) InitOptions},
+     * and once the returned future completes, its error message (or a generic message, if it completed exceptionally) is sent to the sender on the main thread.
+     * See {@link com.datasiqn.commandcore.command.source.CommandSource CommandSource} for which methods are safe to call off the main thread.
+     * @param executor The async executor
+     * @return The builder, for chaining
+     */
+    public T executesAsync(@NotNull AsyncExecutor executor) {
+        return executes(context -> {
+            CommandCore commandCore = CommandCore.getInstance();
+            CompletableFuture.supplyAsync(() -> executor.execute(context), commandCore.getAsyncExecutor())
+                    .thenCompose(future -> future)
+                    .whenCompleteAsync((result, throwable) -> {
+                        if (throwable != null) {
+                            Bukkit.getLogger().log(Level.SEVERE, "[CommandCore] An exception occurred while executing the command " + context.getCommand().getName(), throwable);
+                            context.getSource().sendMessage(ChatColor.RED + "An internal error occurred while executing this command");
+                            return;
+                        }
+                        if (result != null && result.isError()) context.getSource().sendMessage(ChatColor.RED + result.unwrapError());
+                    }, commandCore.getMainThreadExecutor());
+        });
+    }
+
+    /**
+     * Sets an executor for this command that is spread across multiple ticks, for commands that do too much work to finish in a single tick.
+     * <p>
+     * {@code executor} is called on the main thread, and the task it returns is then run a few steps at a time on the main thread, until it finishes or is cancelled.
+     * How long tasks can run for each tick is set in {@link com.datasiqn.commandcore.InitOptions.Builder#taskTickBudget(Duration) InitOptions}.
+     * While the task runs, its progress is periodically sent to the sender. Running tasks can be cancelled through {@link CommandCore#getTaskScheduler()}
+     * @param executor The ticking executor
+     * @return The builder, for chaining
+     */
+    public T executesOverTicks(@NotNull TickingExecutor executor) {
+        return executes(context -> CommandCore.getInstance().getTaskScheduler().submit(context, executor.start(context)));
+    }
+
     /**
      * Gets all children nodes
      * @return An unmodifiable view of all children nodes
@@ -106,6 +203,26 @@ public abstract class CommandLink<T> {
 
     protected abstract @NotNull T getThis();
 
+    static @NotNull Result<None, String> testLimits(@NotNull List<RateLimiter> limits, @NotNull CommandContext context) {
+        return testLimits(limits, Collections.emptyList(), context);
+    }
+
+    // a command is only run if every limit allows it, so the permits of the limits before one that rejects it are given back
+    static @NotNull Result<None, String> testLimits(@NotNull List<RateLimiter> first, @NotNull List<RateLimiter> second, @NotNull CommandContext context) {
+        int total = first.size() + second.size();
+        for (int acquired = 0; acquired < total; acquired++) {
+            Result<None, String> result = getLimit(first, second, acquired).tryAcquire(context.getSource());
+            if (result.isOk()) continue;
+            for (int i = 0; i < acquired; i++) getLimit(first, second, i).refund(context.getSource());
+            return result;
+        }
+        return Result.ok();
+    }
+
+    private static @NotNull RateLimiter getLimit(@NotNull List<RateLimiter> first, @NotNull List<RateLimiter> second, int index) {
+        return index < first.size() ? first.get(index) : second.get(index - first.size());
+    }
+
     /**
      * A function that defines a command executor
      */
@@ -117,6 +234,30 @@ public abstract class CommandLink<T> {
         void execute(CommandContext context);
     }
 
+    /**
+     * A function that defines a command executor that runs off the main server thread
+     */
+    public interface AsyncExecutor {
+        /**
+         * Executes the command. This is called off the main server thread
+         * @param context The context in which the command was executed in
+         * @return A future that completes with the result of the command, where the error value is an error message that is sent to the sender
+         */
+        @NotNull CompletableFuture<Result<None, String>> execute(CommandContext context);
+    }
+
+    /**
+     * A function that defines a command executor that is spread across multiple ticks
+     */
+    public interface TickingExecutor {
+        /**
+         * Starts executing the command
+         * @param context The context in which the command was executed in
+         * @return The task that does the work of the command
+         */
+        @NotNull TickingTask start(CommandContext context);
+    }
+
     /**
      * A function that defines a command requirement.
      */
@@ -2,9 +2,12 @@ package com.datasiqn.commandcore.command.builder;
 
 import com.datasiqn.commandcore.argument.ArgumentReader;
 import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.command.StaticSuggestions;
+import com.datasiqn.commandcore.command.Usage;
 import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -26,11 +29,19 @@ public abstract class CommandNode<This extends CommandNode<This>> extends Comman
      */
     public final @NotNull Result<None, String> executeWith(CommandContext context) {
         if (executor == null) throw new IllegalStateException("This CommandNode has no executor");
-        for (Requirement require : requires){
+        Result<None, String> result = testLimits(limits, context);
+        if (result.isError()) return result;
+        result = testRequirements(context);
+        if (result.isError()) return result;
+        executor.execute(context);
+        return Result.ok();
+    }
+
+    @NotNull Result<None, String> testRequirements(CommandContext context) {
+        for (Requirement require : requires) {
             Result<None, String> result = require.testRequirement(context);
             if (result.isError()) return result;
         }
-        executor.execute(context);
         return Result.ok();
     }
 
@@ -42,6 +53,24 @@ public abstract class CommandNode<This extends CommandNode<This>> extends Comman
     @NotNull
     public abstract List<String> getTabComplete(@NotNull CommandContext context);
 
+    /**
+     * Gets the tabcomplete for this node if it never changes
+     * @return The static tabcomplete, or null if the tabcomplete depends on the context
+     * @see com.datasiqn.commandcore.argument.type.ArgumentType#getStaticSuggestions()
+     */
+    public @Nullable StaticSuggestions getStaticSuggestions() {
+        return null;
+    }
+
+    /**
+     * Gets whether parsing this node or calling {@link #getTabComplete(CommandContext) getTabComplete} must be done from the main server thread
+     * @return {@code true} if parsing or tab completing requires the main thread, {@code false} otherwise
+     * @see com.datasiqn.commandcore.argument.type.ArgumentType#requiresMainThread()
+     */
+    public boolean requiresMainThread() {
+        return false;
+    }
+
     /**
      * Attempts to parse a string
      * @param reader The reader to parse
@@ -51,18 +80,43 @@ public abstract class CommandNode<This extends CommandNode<This>> extends Comman
     public abstract Result<?, String> parse(ArgumentReader reader);
 
     protected List<String> getUsages(boolean isOptional) {
-        List<String> usages = new ArrayList<>();
-        if (executor != null) usages.add(getUsageArgument(isOptional));
+        List<Usage> usages = new ArrayList<>();
+        collectUsages(Usage.empty(), isOptional, usages);
+        return usages.stream().map(Usage::render).collect(Collectors.toList());
+    }
+
+    /**
+     * Adds every usage of this node and its children to {@code usages}. Each usage extends {@code parent}, so nothing is copied or rendered
+     * @param parent The usage of the parent node
+     * @param isOptional Whether this node is optional or not
+     * @param usages The list to add the usages to
+     */
+    void collectUsages(@NotNull Usage parent, boolean isOptional, @NotNull List<Usage> usages) {
+        Usage usage = parent.then(getUsageElement(isOptional));
+        if (executor != null && !hasOptionalChild(children)) usages.add(usage);
+        List<CommandNode<?>> sortedChildren = new ArrayList<>(children);
+        sortedChildren.sort(COMPARATOR);
+        for (CommandNode<?> node : sortedChildren) node.collectUsages(usage, executor != null, usages);
+    }
+
+    /**
+     * Gets the usage element of this node. By default, this is the already rendered {@link #getUsageArgument(boolean) usage argument}
+     * @param isOptional Whether this node is optional or not
+     * @return The usage element
+     */
+    protected @NotNull Usage.Element getUsageElement(boolean isOptional) {
+        return Usage.Element.raw(getUsageArgument(isOptional));
+    }
+
+    // if a child can be optional and can be executed, the usage of the parent is already covered by the child's optional usage
+    static boolean hasOptionalChild(@NotNull List<CommandNode<?>> children) {
         boolean hasOptional = false;
         boolean canBeOptional = false;
-        List<CommandNode<?>> sortedChildren = children.stream().sorted(COMPARATOR).collect(Collectors.toList());
-        for (CommandNode<?> node : sortedChildren) {
+        for (CommandNode<?> node : children) {
             if (node.executor != null) hasOptional = true;
             if (node.canBeOptional()) canBeOptional = true;
-            usages.addAll(node.getUsages(executor != null).stream().map(str -> getUsageArgument(isOptional) + " " + str).collect(Collectors.toList()));
         }
-        if (executor != null && hasOptional && canBeOptional) usages.remove(0);
-        return usages;
+        return hasOptional && canBeOptional;
     }
 
     protected int getPriority() {
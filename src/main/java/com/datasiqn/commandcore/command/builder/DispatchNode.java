@@ -0,0 +1,395 @@
+package com.datasiqn.commandcore.command.builder;
+
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.argument.ArgumentReader;
+import com.datasiqn.commandcore.argument.type.ArgumentType;
+import com.datasiqn.commandcore.command.StaticSuggestions;
+import com.datasiqn.resultapi.Result;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, compiled view of a command tree that is used to find which child node an argument belongs to.
+ * <p>
+ * Children are tried in the order of {@link CommandNode#getComparator()}, stopping at the first child that parses.
+ * Adjacent literal children are merged into a single lookup table that is keyed by the next word.
+ * <p>
+ * If {@link com.datasiqn.commandcore.InitOptions#useAdaptiveDispatch() adaptive dispatch} is enabled, every node counts how often each child matches,
+ * and periodically moves the children that match most often to the front. A child is only moved in front of siblings whose {@link ArgumentType#getWordKind() word kinds}
+ * are disjoint from its own, so the child that wins is always the same as without reordering.
+ * <p>
+ * When several children parse with the same {@code ArgumentType}, each parse is memoized by (type, offset), so the same span is never parsed twice by the same type.
+ * Dispatching never goes back to an earlier offset, so every attempt that could reuse a parse happens within a single {@link #match(ArgumentReader) match}.
+ */
+final class DispatchNode {
+    private static final int REORDER_INTERVAL = 1024;
+
+    private final CommandNode<?> node;
+    private final String path;
+    private final ArgumentType<?> type;
+    private final List<DispatchNode> children;
+    private final List<DispatchNode> dynamicChildren;
+    private final List<StaticSuggestions> staticSuggestions;
+    private final boolean mainThreadChildren;
+    private final Step[] declaredSteps;
+    private final boolean adaptive;
+    private final int memoSize;
+    private volatile Step[] steps;
+    // these are only used to pick an order, so updates that are lost when tab completing asynchronously don't matter
+    private int matches;
+
+    private DispatchNode(@Nullable CommandNode<?> node, @Nullable String parentPath, @NotNull List<CommandNode<?>> children, boolean adaptive) {
+        this.node = node;
+        if (node == null) this.path = null;
+        else this.path = parentPath == null ? node.getUsageElement(false).toString() : parentPath + " " + node.getUsageElement(false).toString();
+        if (node instanceof ArgumentBuilder) this.type = ((ArgumentBuilder<?>) node).getType();
+        else if (node instanceof LiteralBuilder) this.type = ArgumentType.WORD;
+        else this.type = null;
+
+        List<DispatchNode> compiledChildren = new ArrayList<>(children.size());
+        Map<CommandNode<?>, DispatchNode> compiledMap = new IdentityHashMap<>();
+        for (CommandNode<?> child : children) {
+            DispatchNode compiled = new DispatchNode(child, path, child.children, adaptive);
+            compiledChildren.add(compiled);
+            compiledMap.putIfAbsent(child, compiled);
+        }
+        this.children = Collections.unmodifiableList(compiledChildren);
+        boolean mainThreadChildren = false;
+        for (CommandNode<?> child : children) mainThreadChildren |= child.requiresMainThread();
+        this.mainThreadChildren = mainThreadChildren;
+
+        List<DispatchNode> dynamicChildren = new ArrayList<>();
+        List<StaticSuggestions> childSuggestions = new ArrayList<>();
+        for (DispatchNode child : compiledChildren) {
+            StaticSuggestions suggestions = child.node.getStaticSuggestions();
+            if (suggestions == null) dynamicChildren.add(child);
+            else childSuggestions.add(suggestions);
+        }
+        this.dynamicChildren = Collections.unmodifiableList(dynamicChildren);
+        // all static children are merged, so a node with many literals only needs a single prefix search
+        this.staticSuggestions = childSuggestions.isEmpty() ? Collections.emptyList() : Collections.singletonList(StaticSuggestions.merge(childSuggestions));
+
+        List<CommandNode<?>> sortedChildren = new ArrayList<>(children);
+        sortedChildren.sort(CommandNode.getComparator());
+        List<Step> steps = new ArrayList<>();
+        Map<String, DispatchNode> literals = null;
+        for (CommandNode<?> child : sortedChildren) {
+            DispatchNode compiled = compiledMap.get(child);
+            if (child instanceof LiteralBuilder) {
+                if (literals == null) literals = new LinkedHashMap<>();
+                // a stable sort keeps declaration order, so the first declared literal wins just like before
+                literals.putIfAbsent(((LiteralBuilder) child).getLiteral(), compiled);
+            } else {
+                if (literals != null) {
+                    steps.add(new LiteralStep(literals));
+                    literals = null;
+                }
+                steps.add(new ArgumentStep(compiled));
+            }
+        }
+        if (literals != null) steps.add(new LiteralStep(literals));
+        this.declaredSteps = steps.toArray(new Step[0]);
+        this.steps = declaredSteps;
+        this.adaptive = adaptive && canReorder(declaredSteps);
+        this.memoSize = hasSharedTypes(declaredSteps) ? declaredSteps.length : 0;
+    }
+
+    /**
+     * Gets the node that this was compiled from
+     * @return The node, or null if this is the root of a command
+     */
+    public @Nullable CommandNode<?> getNode() {
+        return node;
+    }
+
+    /**
+     * Gets the usage of every node from the root to this node, separated by spaces. This is computed once, so that metrics can be recorded without allocating
+     * @return The node path, or null if this is the root of a command
+     */
+    public @Nullable String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the argument type that the node parses with, if it is known
+     * @return The argument type, or null if the node is not an argument or literal node
+     */
+    public @Nullable ArgumentType<?> getType() {
+        return type;
+    }
+
+    /**
+     * Gets all compiled children, in the order they were declared
+     * @return An unmodifiable view of all compiled children
+     */
+    @UnmodifiableView
+    public @NotNull List<DispatchNode> getChildren() {
+        return children;
+    }
+
+    /**
+     * Gets all compiled children that don't have static tabcompletes, in the order they were declared
+     * @return An unmodifiable view of all compiled children that don't have static tabcompletes
+     */
+    @UnmodifiableView
+    public @NotNull List<DispatchNode> getDynamicChildren() {
+        return dynamicChildren;
+    }
+
+    /**
+     * Gets the combined static tabcompletes of all children
+     * @return An unmodifiable list that is either empty, or contains the combined static tabcompletes
+     */
+    @UnmodifiableView
+    public @NotNull List<StaticSuggestions> getStaticSuggestions() {
+        return staticSuggestions;
+    }
+
+    /**
+     * Gets whether any child {@link CommandNode#requiresMainThread() requires the main thread}, in which case {@link #match(ArgumentReader) match} must be called from the main thread
+     * @return {@code true} if any child requires the main thread, {@code false} otherwise
+     */
+    public boolean hasMainThreadChildren() {
+        return mainThreadChildren;
+    }
+
+    /**
+     * Finds the child that can parse the argument that {@code reader} is currently on.
+     * If a child is found, the reader will be placed after the parsed argument. Otherwise, the reader will be placed back where it started.
+     * @param reader The reader
+     * @return The result of the match, where the error value is a list of error messages from every child that failed to parse
+     */
+    public @NotNull Result<Match, List<String>> match(@NotNull ArgumentReader reader) {
+        int beforeIndex = reader.index();
+        List<String> exceptions = new ArrayList<>();
+        ParseMemo memo = memoSize == 0 ? null : new ParseMemo(memoSize);
+        for (Step step : steps) {
+            Match matched = step.match(reader, exceptions, memo);
+            if (matched != null) {
+                if (adaptive) recordHit(step);
+                return Result.ok(matched);
+            }
+            reader.jumpTo(beforeIndex);
+        }
+        return Result.error(exceptions);
+    }
+
+    private void recordHit(@NotNull Step step) {
+        step.hits++;
+        if (++matches < REORDER_INTERVAL) return;
+        matches = 0;
+        Step[] reordered = new Step[declaredSteps.length];
+        boolean[] placed = new boolean[declaredSteps.length];
+        for (int i = 0; i < reordered.length; i++) {
+            // the first step that hasn't been placed is always movable, so one is always found
+            int best = -1;
+            for (int j = 0; j < declaredSteps.length; j++) {
+                if (placed[j] || !isMovable(placed, j)) continue;
+                if (best == -1 || declaredSteps[j].hits > declaredSteps[best].hits) best = j;
+            }
+            placed[best] = true;
+            reordered[i] = declaredSteps[best];
+        }
+        // older hits count for less, so that the order follows how the command is used now
+        for (Step declared : declaredSteps) declared.hits >>= 1;
+        this.steps = reordered;
+    }
+
+    // a step can only be tried before the steps that were declared before it if none of them can parse the same input
+    private boolean isMovable(boolean @NotNull [] placed, int index) {
+        for (int i = 0; i < index; i++) {
+            if (!placed[i] && !declaredSteps[i].getWordKind().isDisjointFrom(declaredSteps[index].getWordKind())) return false;
+        }
+        return true;
+    }
+
+    private static boolean hasSharedTypes(@NotNull Step @NotNull [] steps) {
+        for (int i = 0; i < steps.length; i++) {
+            ArgumentType<?> type = steps[i].getMemoType();
+            if (type == null) continue;
+            for (int j = i + 1; j < steps.length; j++) {
+                if (steps[j].getMemoType() == type) return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean canReorder(@NotNull Step @NotNull [] steps) {
+        for (int i = 0; i < steps.length; i++) {
+            for (int j = i + 1; j < steps.length; j++) {
+                if (steps[i].getWordKind().isDisjointFrom(steps[j].getWordKind())) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compiles the command tree of a {@code CommandBuilder}
+     * @param builder The command builder
+     * @return The compiled root node
+     */
+    @Contract("_ -> new")
+    public static @NotNull DispatchNode compile(@NotNull CommandBuilder builder) {
+        // commands can be built without initializing CommandCore
+        boolean adaptive = CommandCore.isInitialized() && CommandCore.getInstance().getOptions().useAdaptiveDispatch();
+        return compile(builder, adaptive);
+    }
+
+    /**
+     * Compiles the command tree of a {@code CommandBuilder}
+     * @param builder The command builder
+     * @param adaptive Whether children should be reordered by how often they match
+     * @return The compiled root node
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull DispatchNode compile(@NotNull CommandBuilder builder, boolean adaptive) {
+        return new DispatchNode(null, null, builder.children, adaptive);
+    }
+
+    /**
+     * Represents a child that successfully parsed an argument, along with the value it parsed
+     */
+    static class Match {
+        private final DispatchNode node;
+        private final Object value;
+
+        private Match(DispatchNode node, Object value) {
+            this.node = node;
+            this.value = value;
+        }
+
+        /**
+         * Gets the child that parsed the argument
+         * @return The child
+         */
+        public @NotNull DispatchNode getNode() {
+            return node;
+        }
+
+        /**
+         * Gets the value that the child parsed
+         * @return The parsed value
+         */
+        public Object getValue() {
+            return value;
+        }
+    }
+
+    private abstract static class Step {
+        private int hits;
+
+        abstract @Nullable Match match(@NotNull ArgumentReader reader, @NotNull List<String> exceptions, @Nullable ParseMemo memo);
+
+        // only argument nodes are memoized, since custom nodes can parse differently even if they use the same type
+        @Nullable ArgumentType<?> getMemoType() {
+            return null;
+        }
+
+        @NotNull ArgumentType.WordKind getWordKind() {
+            return ArgumentType.WordKind.ANY;
+        }
+    }
+
+    private static class LiteralStep extends Step {
+        // open addressing table, so that words can be looked up straight from the reader without creating a string
+        private final String[] keys;
+        private final DispatchNode[] values;
+        private final int mask;
+
+        private LiteralStep(@NotNull Map<String, DispatchNode> literals) {
+            int capacity = Integer.highestOneBit(Math.max(literals.size(), 1) * 2) << 1;
+            this.keys = new String[capacity];
+            this.values = new DispatchNode[capacity];
+            this.mask = capacity - 1;
+            literals.forEach((literal, node) -> {
+                int index = literal.hashCode() & mask;
+                while (keys[index] != null) index = (index + 1) & mask;
+                keys[index] = literal;
+                values[index] = node;
+            });
+        }
+
+        @Override
+        @Nullable Match match(@NotNull ArgumentReader reader, @NotNull List<String> exceptions, @Nullable ParseMemo memo) {
+            CharSequence word = reader.nextWordSlice();
+            int hash = 0;
+            for (int i = 0; i < word.length(); i++) hash = 31 * hash + word.charAt(i);
+            for (int index = hash & mask; keys[index] != null; index = (index + 1) & mask) {
+                if (keys[index].contentEquals(word)) return new Match(values[index], keys[index]);
+            }
+            return null;
+        }
+    }
+
+    private static class ArgumentStep extends Step {
+        private final DispatchNode compiled;
+
+        private ArgumentStep(DispatchNode compiled) {
+            this.compiled = compiled;
+        }
+
+        @Override
+        @Nullable Match match(@NotNull ArgumentReader reader, @NotNull List<String> exceptions, @Nullable ParseMemo memo) {
+            ArgumentType<?> type = getMemoType();
+            Result<?, String> result = memo == null || type == null ? null : memo.get(type, reader);
+            if (result == null) {
+                result = compiled.node.parse(reader);
+                if (memo != null && type != null) memo.put(type, result, reader.index());
+            }
+            if (result.isOk()) return new Match(compiled, result.unwrap());
+            String error = result.unwrapError();
+            if (!error.isEmpty()) exceptions.add(error);
+            return null;
+        }
+
+        @Override
+        @NotNull ArgumentType.WordKind getWordKind() {
+            return compiled.node instanceof ArgumentBuilder ? compiled.type.getWordKind() : ArgumentType.WordKind.ANY;
+        }
+
+        @Override
+        @Nullable ArgumentType<?> getMemoType() {
+            return compiled.node instanceof ArgumentBuilder ? compiled.type : null;
+        }
+    }
+
+    // every step of a match starts at the same offset, so keying by type is the same as keying by (type, offset)
+    private static class ParseMemo {
+        private final ArgumentType<?>[] types;
+        private final Result<?, String>[] results;
+        private final int[] ends;
+        private int size;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private ParseMemo(int capacity) {
+            this.types = new ArgumentType<?>[capacity];
+            this.results = new Result[capacity];
+            this.ends = new int[capacity];
+        }
+
+        private @Nullable Result<?, String> get(@NotNull ArgumentType<?> type, @NotNull ArgumentReader reader) {
+            for (int i = 0; i < size; i++) {
+                if (types[i] != type) continue;
+                reader.jumpTo(ends[i]);
+                return results[i];
+            }
+            return null;
+        }
+
+        private void put(@NotNull ArgumentType<?> type, @NotNull Result<?, String> result, int end) {
+            types[size] = type;
+            results[size] = result;
+            ends[size] = end;
+            size++;
+        }
+    }
+}
@@ -3,8 +3,9 @@ package com.datasiqn.commandcore.command.builder;
 import com.datasiqn.commandcore.argument.ArgumentReader;
 import com.datasiqn.commandcore.argument.type.ArgumentType;
 import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.command.StaticSuggestions;
+import com.datasiqn.commandcore.command.Usage;
 import com.datasiqn.resultapi.Result;
-import org.bukkit.ChatColor;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
@@ -17,9 +18,11 @@ import java.util.List;
  */
 public class LiteralBuilder extends CommandNode<LiteralBuilder> {
     private final String literal;
+    private final StaticSuggestions tabComplete;
 
     private LiteralBuilder(String literal) {
         this.literal = literal;
+        this.tabComplete = StaticSuggestions.of(literal);
     }
 
     @Override
@@ -32,6 +35,19 @@ public class LiteralBuilder extends CommandNode<LiteralBuilder> {
         return new ArrayList<>(Collections.singletonList(literal));
     }
 
+    @Override
+    public @NotNull StaticSuggestions getStaticSuggestions() {
+        return tabComplete;
+    }
+
+    /**
+     * Gets the literal string of this node
+     * @return The literal string
+     */
+    public @NotNull String getLiteral() {
+        return literal;
+    }
+
     @Override
     public String toString() {
         return "Literal(" + literal + ")";
@@ -39,7 +55,12 @@ public class LiteralBuilder extends CommandNode<LiteralBuilder> {
 
     @Override
     protected String getUsageArgument(boolean isOptional) {
-        return ChatColor.WHITE + literal;
+        return getUsageElement(isOptional).render();
+    }
+
+    @Override
+    protected @NotNull Usage.Element getUsageElement(boolean isOptional) {
+        return Usage.Element.literal(literal);
     }
 
     @Override
@@ -16,6 +16,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public class BlockCommandSource implements CommandSource {
     private final BlockCommandSender sender;
+    private final Result<BlockCommandSender, String> block;
+    private final Result<LocatableCommandSender, String> locatable;
 
     /**
      * Creates a new {@code BlockCommandSource} with the internal sender of {@code sender}.
@@ -25,16 +27,18 @@ public class BlockCommandSource implements CommandSource {
      */
     public BlockCommandSource(BlockCommandSender sender) {
         this.sender = sender;
+        this.block = Result.ok(sender);
+        this.locatable = Result.ok(new LocatableBlockSender(sender));
     }
 
     @Override
     public @NotNull Result<BlockCommandSender, String> getBlockChecked() {
-        return Result.ok(sender);
+        return block;
     }
 
     @Override
     public @NotNull Result<LocatableCommandSender, String> getLocatableChecked() {
-        return Result.ok(new LocatableBlockSender(sender));
+        return locatable;
     }
 
     @Override
@@ -13,7 +13,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Represents the source of a command. Get one using the factory method {@link CommandCore#createSource(CommandSender) createSource}.
+ * Represents the source of a command. Get one using the factory method {@link CommandCore#createSource(CommandSender) createSource}, or get a cached one using {@link CommandCore#getSource(CommandSender) getSource}.
+ * <p>
+ * When used from an {@link CommandLink#executesAsync(CommandLink.AsyncExecutor) async executor}, only the methods that return the sender ({@code getSender}, {@code getPlayer}, {@code getEntity}, {@code getBlock}, {@code getLocatable} and their checked variants)
+ * and {@code sendMessage} are safe to call off the main server thread.
+ * Everything else, including {@code hasPermission} and any method on the returned sender (such as getting its location), must be called on the main thread,
+ * either before the future is created or through {@link CommandCore#getMainThreadExecutor()}.
  */
 public interface CommandSource {
     /**
@@ -15,6 +15,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public class EntityCommandSource implements CommandSource {
     private final Entity sender;
+    private final Result<Entity, String> entity;
+    private final Result<LocatableCommandSender, String> locatable;
 
     /**
      * Creates a new {@code EntityCommandSource} with the internal sender of {@code sender}.
@@ -24,16 +26,18 @@ public class EntityCommandSource implements CommandSource {
      */
     public EntityCommandSource(Entity sender) {
         this.sender = sender;
+        this.entity = Result.ok(sender);
+        this.locatable = Result.ok(new LocatableEntitySender(sender));
     }
 
     @Override
     public @NotNull Result<Entity, String> getEntityChecked() {
-        return Result.ok(sender);
+        return entity;
     }
 
     @Override
     public @NotNull Result<LocatableCommandSender, String> getLocatableChecked() {
-        return Result.ok(new LocatableEntitySender(sender));
+        return locatable;
     }
 
     @Override
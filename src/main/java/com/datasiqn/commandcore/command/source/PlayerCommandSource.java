@@ -12,7 +12,7 @@ import org.jetbrains.annotations.NotNull;
  * <strong>NOTE: Do not directly instantiate this class! Instead, use the factory method {@link CommandCore#createSource(CommandSender) createSource}</strong>
  */
 public class PlayerCommandSource extends EntityCommandSource {
-    private final Player player;
+    private final Result<Player, String> player;
 
     /**
      * Creates a new {@code CommandSource} with the internal sender of {@code sender}.
@@ -22,11 +22,11 @@ public class PlayerCommandSource extends EntityCommandSource {
      */
     public PlayerCommandSource(Player sender) {
         super(sender);
-        this.player = sender;
+        this.player = Result.ok(sender);
     }
 
     @Override
     public @NotNull Result<Player, String> getPlayerChecked() {
-        return Result.ok(player);
+        return player;
     }
 }
@@ -3,46 +3,132 @@ package com.datasiqn.commandcore.managers;
 import com.datasiqn.commandcore.CommandCore;
 import com.datasiqn.commandcore.InitOptions;
 import com.datasiqn.commandcore.InitOptions.Warning;
+import com.datasiqn.commandcore.argument.CaseInsensitiveIndex;
 import com.datasiqn.commandcore.command.Command;
+import com.datasiqn.commandcore.command.StaticSuggestions;
 import com.datasiqn.commandcore.command.builder.CommandBuilder;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Class that manages all commands
+ * Class that manages all commands.
+ * <p>
+ * All registered commands are stored in an immutable snapshot that is replaced whenever a command is registered or unregistered.
+ * This means that reading from a {@code CommandManager} never locks or allocates, and is safe to do from any thread.
  */
 public class CommandManager {
-    private final Map<String, Command> commandMap = new HashMap<>();
-    private final Map<String, Command> aliasesMap = new HashMap<>();
+    private final boolean ignoreCase;
+    private final AtomicReference<Registry> registry;
+
+    /**
+     * Creates a new {@code CommandManager} that looks up commands case-sensitively
+     */
+    public CommandManager() {
+        this(false);
+    }
+
+    /**
+     * Creates a new {@code CommandManager}
+     * @param ignoreCase Whether {@link #findCommand(String) findCommand} and {@link #getCommandNamesWithPrefix(String) getCommandNamesWithPrefix} should ignore case or not
+     */
+    public CommandManager(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+        this.registry = new AtomicReference<>(new Registry(Collections.emptyMap(), Collections.emptyMap(), ignoreCase, 0));
+    }
 
     /**
      * Registers a new command
      * @param command The command
      * @throws IllegalArgumentException If {@code command}'s name or one of its aliases is empty or contains spaces.
-     * If {@code command}'s name or one of its aliases are already used
+     * If {@code command}'s name or one of its aliases are already used, or only differ in case from one used by another command while this {@code CommandManager} ignores case
      */
     public void registerCommand(@NotNull CommandBuilder command) {
-        Command builtCommand = command.build();
-        String name = builtCommand.getName();
-        if (name.contains(" ")) throw new IllegalArgumentException("Command name cannot contain spaces");
-        if (name.isEmpty()) throw new IllegalArgumentException("Command name cannot be empty");
-        InitOptions options = CommandCore.getInstance().getOptions();
-        // the default help command doesn't have a permission, so suppress all warnings if the command is the default help command
-        if (!options.createHelpCommand() || !builtCommand.getName().equals("help")) {
-            options.warnIf(Warning.MISSING_DESCRIPTION, !builtCommand.hasDescription(), name);
-            options.warnIf(Warning.MISSING_PERMISSION, !builtCommand.hasPermission(), name);
-        }
-        if (commandMap.putIfAbsent(name, builtCommand) != null) throw new IllegalArgumentException("Command name already in use");
-        for (String alias : builtCommand.getAliases()) {
-            if (alias.contains(" ")) throw new IllegalArgumentException("Command aliases cannot contain spaces");
-            if (alias.isEmpty()) throw new IllegalArgumentException("Command aliases cannot be empty");
-            Command prev = aliasesMap.putIfAbsent(alias, builtCommand);
-            if (prev != null) throw new IllegalArgumentException("Command alias already in use (used by " + prev.getName() + ")");
+        registerCommands(Collections.singletonList(command));
+    }
+
+    /**
+     * Registers multiple commands at once. Either all commands are registered, or none of them are
+     * @param commands The commands
+     * @throws IllegalArgumentException If any command's name or one of its aliases is empty or contains spaces.
+     * If any command's name or one of its aliases are already used, or only differ in case from one used by another command while this {@code CommandManager} ignores case
+     */
+    public void registerCommands(@NotNull CommandBuilder @NotNull ... commands) {
+        registerCommands(Arrays.asList(commands));
+    }
+
+    /**
+     * Registers multiple commands at once. Either all commands are registered, or none of them are
+     * @param commands The commands
+     * @throws IllegalArgumentException If any command's name or one of its aliases is empty or contains spaces.
+     * If any command's name or one of its aliases are already used, or only differ in case from one used by another command while this {@code CommandManager} ignores case
+     */
+    public void registerCommands(@NotNull Collection<CommandBuilder> commands) {
+        List<Command> builtCommands = new ArrayList<>(commands.size());
+        for (CommandBuilder command : commands) {
+            Command builtCommand = command.build();
+            validate(builtCommand);
+            builtCommands.add(builtCommand);
         }
+        Registry current;
+        Registry updated;
+        do {
+            current = registry.get();
+            Map<String, Command> commandMap = new HashMap<>(current.commands);
+            Map<String, Command> aliasesMap = new HashMap<>(current.aliases);
+            for (Command builtCommand : builtCommands) {
+                if (commandMap.putIfAbsent(builtCommand.getName(), builtCommand) != null) throw new IllegalArgumentException("Command name already in use");
+                for (String alias : builtCommand.getAliases()) {
+                    Command prev = aliasesMap.putIfAbsent(alias, builtCommand);
+                    if (prev != null) throw new IllegalArgumentException("Command alias already in use (used by " + prev.getName() + ")");
+                }
+            }
+            if (ignoreCase) checkCaseConflicts(commandMap, aliasesMap);
+            updated = new Registry(commandMap, aliasesMap, ignoreCase, current.version + 1);
+        } while (!registry.compareAndSet(current, updated));
+    }
+
+    /**
+     * Unregisters a command and all of its aliases
+     * @param name The name of the command
+     * @return {@code true} if the command was unregistered, {@code false} if there was no command with that name
+     */
+    public boolean unregisterCommand(@NotNull String name) {
+        Registry current;
+        Registry updated;
+        do {
+            current = registry.get();
+            Command command = current.commands.get(name);
+            if (command == null) return false;
+            Map<String, Command> commandMap = new HashMap<>(current.commands);
+            Map<String, Command> aliasesMap = new HashMap<>(current.aliases);
+            commandMap.remove(name);
+            for (String alias : command.getAliases()) aliasesMap.remove(alias, command);
+            updated = new Registry(commandMap, aliasesMap, ignoreCase, current.version + 1);
+        } while (!registry.compareAndSet(current, updated));
+        return true;
+    }
+
+    /**
+     * Gets the version of the registered commands, which changes every time a command is registered or unregistered.
+     * This can be used to invalidate anything that is computed from the registered commands
+     * @return The version
+     */
+    public long getVersion() {
+        return registry.get().version;
     }
 
     /**
@@ -52,7 +138,27 @@ public class CommandManager {
      * @return The command, or null if it doesn't exist
      */
     public Command getCommand(String name, boolean alias) {
-        return alias ? aliasesMap.get(name) : commandMap.get(name);
+        Registry current = registry.get();
+        return alias ? current.aliases.get(name) : current.commands.get(name);
+    }
+
+    /**
+     * Finds a command by either its name or one of its aliases, in a single lookup.
+     * If this {@code CommandManager} ignores case, {@code nameOrAlias} is matched ignoring case. Just like {@code getCommand(name, isAlias(name))}, aliases take precedence over names
+     * @param nameOrAlias The name or alias of the command
+     * @return The command, or null if it doesn't exist
+     */
+    public @Nullable Command findCommand(@NotNull String nameOrAlias) {
+        Registry current = registry.get();
+        return current.index == null ? current.lookup.get(nameOrAlias) : current.index.get(nameOrAlias);
+    }
+
+    /**
+     * Gets whether {@link #findCommand(String) findCommand} ignores case or not
+     * @return {@code true} if commands are looked up ignoring case, {@code false} otherwise
+     */
+    public boolean ignoresCase() {
+        return ignoreCase;
     }
 
     /**
@@ -62,7 +168,8 @@ public class CommandManager {
      * @return {@code true} if the command exists, otherwise {@code false}
      */
     public boolean hasCommand(String name, boolean alias) {
-        return alias ? aliasesMap.containsKey(name) : commandMap.containsKey(name);
+        Registry current = registry.get();
+        return alias ? current.aliases.containsKey(name) : current.commands.containsKey(name);
     }
 
     /**
@@ -71,17 +178,89 @@ public class CommandManager {
      * @return {@code true} if {@code name} is a command alias, {@code false} otherwise
      */
     public boolean isAlias(String name) {
-        return aliasesMap.containsKey(name);
+        return registry.get().aliases.containsKey(name);
     }
 
     /**
-     * Gets all command names
+     * Gets all command names. The returned set is a snapshot, so it doesn't change when commands are registered or unregistered
      * @param includeAliases Whether to include command aliases or not
-     * @return All command names
+     * @return An unmodifiable view of all command names
      */
+    @UnmodifiableView
     public @NotNull Set<String> getCommandNames(boolean includeAliases) {
-        Set<String> names = new HashSet<>(commandMap.keySet());
-        if (includeAliases) names.addAll(aliasesMap.keySet());
-        return names;
+        Registry current = registry.get();
+        return includeAliases ? current.allNames : current.names;
+    }
+
+    /**
+     * Gets all command names and aliases that start with {@code prefix}, ignoring case if this {@code CommandManager} ignores case.
+     * The names are sorted when a command is registered, so this doesn't sort or copy anything
+     * @param prefix The prefix
+     * @return A sorted, unmodifiable view of all command names and aliases that start with {@code prefix}
+     */
+    @UnmodifiableView
+    public @NotNull List<String> getCommandNamesWithPrefix(@NotNull String prefix) {
+        return registry.get().suggestions.withPrefix(prefix);
+    }
+
+    private static void validate(@NotNull Command command) {
+        String name = command.getName();
+        if (name.contains(" ")) throw new IllegalArgumentException("Command name cannot contain spaces");
+        if (name.isEmpty()) throw new IllegalArgumentException("Command name cannot be empty");
+        for (String alias : command.getAliases()) {
+            if (alias.contains(" ")) throw new IllegalArgumentException("Command aliases cannot contain spaces");
+            if (alias.isEmpty()) throw new IllegalArgumentException("Command aliases cannot be empty");
+        }
+        // commands can be registered without initializing CommandCore, in which case there is nothing to warn with
+        if (!CommandCore.isInitialized()) return;
+        InitOptions options = CommandCore.getInstance().getOptions();
+        // the default help command doesn't have a permission, so suppress all warnings if the command is the default help command
+        if (!options.createHelpCommand() || !name.equals("help")) {
+            options.warnIf(Warning.MISSING_DESCRIPTION, !command.hasDescription(), name);
+            options.warnIf(Warning.MISSING_PERMISSION, !command.hasPermission(), name);
+        }
+    }
+
+    // commands are looked up ignoring case, so of two names that only differ in case, one of them could never be found
+    private static void checkCaseConflicts(@NotNull Map<String, Command> commands, @NotNull Map<String, Command> aliases) {
+        Map<String, Command> lookup = new LinkedHashMap<>(aliases);
+        commands.forEach(lookup::putIfAbsent);
+        CaseInsensitiveIndex<Command> index = new CaseInsensitiveIndex<>(lookup);
+        lookup.forEach((name, command) -> {
+            String indexed = Objects.requireNonNull(index.getKey(name));
+            Command other = lookup.get(indexed);
+            if (!indexed.equals(name) && other != command) {
+                throw new IllegalArgumentException("Command name or alias " + name + " only differs in case from " + indexed + " (used by " + other.getName() + ")");
+            }
+        });
+    }
+
+    private static final class Registry {
+        private final Map<String, Command> commands;
+        private final Map<String, Command> aliases;
+        private final Set<String> names;
+        private final Set<String> allNames;
+        // exactly one of these is used, depending on whether case is ignored
+        private final Map<String, Command> lookup;
+        private final CaseInsensitiveIndex<Command> index;
+        private final StaticSuggestions suggestions;
+        private final long version;
+
+        private Registry(@NotNull Map<String, Command> commands, @NotNull Map<String, Command> aliases, boolean ignoreCase, long version) {
+            this.version = version;
+            this.commands = commands;
+            this.aliases = aliases;
+            this.names = Collections.unmodifiableSet(commands.keySet());
+            Set<String> allNames = new HashSet<>(commands.keySet());
+            allNames.addAll(aliases.keySet());
+            this.allNames = Collections.unmodifiableSet(allNames);
+
+            // aliases are added first, so that they take precedence over names like they always have
+            Map<String, Command> lookup = new LinkedHashMap<>(aliases);
+            commands.forEach(lookup::putIfAbsent);
+            this.lookup = ignoreCase ? Collections.emptyMap() : lookup;
+            this.index = ignoreCase ? new CaseInsensitiveIndex<>(lookup) : null;
+            this.suggestions = ignoreCase ? StaticSuggestions.ofIgnoreCase(allNames) : StaticSuggestions.of(allNames);
+        }
     }
 }
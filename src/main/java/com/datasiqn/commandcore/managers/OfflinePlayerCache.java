@@ -0,0 +1,165 @@
+package com.datasiqn.commandcore.managers;
+
+import com.datasiqn.commandcore.command.StaticSuggestions;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * A bounded, in-memory cache that maps the names of players that have been on the server to their UUIDs, and back.
+ * <p>
+ * The cache never does any I/O, so it is safe to use while parsing arguments on the main thread. Reads never lock, and are safe to do from any thread.
+ * When the cache is full, the players that were seen least recently are removed.
+ */
+public class OfflinePlayerCache implements Listener {
+    private final Map<String, Entry> byName = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> byUuid = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final int capacity;
+    private volatile int modifications;
+    private volatile Names names = new Names(StaticSuggestions.empty(), 0);
+
+    /**
+     * Creates a new, empty {@code OfflinePlayerCache}
+     * @param capacity The maximum number of players that can be cached
+     * @throws IllegalArgumentException If {@code capacity} is less than 1
+     */
+    public OfflinePlayerCache(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds all players that have been on the server, starting with the ones that played least recently so that the most recent ones are kept if there are too many
+     * @param players The players
+     */
+    public void seed(@NotNull OfflinePlayer @NotNull [] players) {
+        OfflinePlayer[] sorted = players.clone();
+        Arrays.sort(sorted, Comparator.comparingLong(OfflinePlayer::getLastPlayed));
+        for (OfflinePlayer player : sorted) {
+            String name = player.getName();
+            if (name != null) put(name, player.getUniqueId());
+        }
+    }
+
+    /**
+     * Caches a player's name and UUID. If the player was cached under a different name, the old name is removed
+     * @param name The name of the player
+     * @param uuid The UUID of the player
+     */
+    public synchronized void put(@NotNull String name, @NotNull UUID uuid) {
+        Entry entry = new Entry(name, uuid, clock.incrementAndGet());
+        Entry previous = byUuid.put(uuid, entry);
+        if (previous != null) byName.remove(fold(previous.name), previous);
+        Entry replaced = byName.put(fold(name), entry);
+        // another player used to have this name, so they don't anymore
+        if (replaced != null && !replaced.uuid.equals(uuid)) byUuid.remove(replaced.uuid, replaced);
+        if (byUuid.size() > capacity) evict();
+        modifications++;
+    }
+
+    /**
+     * Gets the UUID of a player from their name, ignoring case
+     * @param name The name of the player
+     * @return The UUID, or null if the player isn't cached
+     */
+    public @Nullable UUID getUniqueId(@NotNull String name) {
+        Entry entry = byName.get(fold(name));
+        return entry == null ? null : entry.uuid;
+    }
+
+    /**
+     * Gets the name of a player from their UUID
+     * @param uuid The UUID of the player
+     * @return The name, or null if the player isn't cached
+     */
+    public @Nullable String getName(@NotNull UUID uuid) {
+        Entry entry = byUuid.get(uuid);
+        return entry == null ? null : entry.name;
+    }
+
+    /**
+     * Gets the names of all cached players that start with {@code prefix}, ignoring case
+     * @param prefix The prefix
+     * @return A sorted, unmodifiable view of the names of all cached players that start with {@code prefix}
+     */
+    @UnmodifiableView
+    public @NotNull List<String> getNamesWithPrefix(@NotNull CharSequence prefix) {
+        Names names = this.names;
+        int modifications = this.modifications;
+        // the names are only sorted again when they are needed, since players join much more often than names are completed
+        if (names.modifications != modifications) {
+            List<String> values = byName.values().stream().map(entry -> entry.name).collect(Collectors.toList());
+            names = new Names(StaticSuggestions.ofIgnoreCase(values), modifications);
+            this.names = names;
+        }
+        return names.suggestions.withPrefix(prefix);
+    }
+
+    /**
+     * Gets the number of cached players
+     * @return The number of cached players
+     */
+    public int size() {
+        return byUuid.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(@NotNull PlayerJoinEvent event) {
+        put(event.getPlayer().getName(), event.getPlayer().getUniqueId());
+    }
+
+    // removes the least recently seen eighth of the cache at once, so that the sort is only done every so often
+    private void evict() {
+        List<Entry> entries = new ArrayList<>(byUuid.values());
+        entries.sort(Comparator.comparingLong(entry -> entry.seen));
+        int toRemove = Math.max(byUuid.size() - capacity, capacity / 8);
+        for (int i = 0; i < toRemove && i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            byUuid.remove(entry.uuid, entry);
+            byName.remove(fold(entry.name), entry);
+        }
+    }
+
+    private static @NotNull String fold(@NotNull String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final UUID uuid;
+        private final long seen;
+
+        private Entry(String name, UUID uuid, long seen) {
+            this.name = name;
+            this.uuid = uuid;
+            this.seen = seen;
+        }
+    }
+
+    private static final class Names {
+        private final StaticSuggestions suggestions;
+        private final int modifications;
+
+        private Names(StaticSuggestions suggestions, int modifications) {
+            this.suggestions = suggestions;
+            this.modifications = modifications;
+        }
+    }
+}
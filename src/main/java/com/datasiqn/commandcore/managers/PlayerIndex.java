@@ -0,0 +1,137 @@
+package com.datasiqn.commandcore.managers;
+
+import com.datasiqn.commandcore.argument.CaseInsensitiveIndex;
+import com.datasiqn.commandcore.command.StaticSuggestions;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An index of all online players, kept up to date as players join and quit.
+ * <p>
+ * Just like {@link CommandManager}, all players are stored in an immutable snapshot that is replaced whenever a player joins or quits.
+ * Player names are sorted ignoring case, so finding all names that start with a prefix is a binary search that returns a view,
+ * and players are looked up by name ignoring case, just like {@link org.bukkit.Bukkit#getPlayerExact(String)}.
+ * Reading from a {@code PlayerIndex} never locks, and is safe to do from any thread, including async tab completion threads.
+ */
+public class PlayerIndex implements Listener {
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(Collections.emptyMap()));
+
+    /**
+     * Creates a new {@code PlayerIndex}
+     * @param onlinePlayers The players that are already online
+     */
+    public PlayerIndex(@NotNull Collection<? extends Player> onlinePlayers) {
+        Map<UUID, Player> players = new LinkedHashMap<>();
+        for (Player player : onlinePlayers) players.put(player.getUniqueId(), player);
+        snapshot.set(new Snapshot(players));
+    }
+
+    /**
+     * Gets an online player by their name, ignoring case
+     * @param name The name of the player
+     * @return The player, or null if no player with that name is online
+     */
+    public @Nullable Player getPlayer(@NotNull CharSequence name) {
+        return snapshot.get().byName.get(name);
+    }
+
+    /**
+     * Gets the names of all online players that start with {@code prefix}, ignoring case
+     * @param prefix The prefix
+     * @return A sorted, unmodifiable view of the names of all online players that start with {@code prefix}
+     */
+    @UnmodifiableView
+    public @NotNull List<String> getNamesWithPrefix(@NotNull CharSequence prefix) {
+        return snapshot.get().names.withPrefix(prefix);
+    }
+
+    /**
+     * Gets all online players
+     * @return An unmodifiable view of all online players
+     */
+    @UnmodifiableView
+    public @NotNull Collection<Player> getPlayers() {
+        return snapshot.get().view;
+    }
+
+    /**
+     * Gets the number of online players
+     * @return The number of online players
+     */
+    public int size() {
+        return snapshot.get().players.size();
+    }
+
+    /**
+     * Adds a player to this index
+     * @param player The player
+     */
+    public void add(@NotNull Player player) {
+        Snapshot current;
+        Snapshot updated;
+        do {
+            current = snapshot.get();
+            Map<UUID, Player> players = new LinkedHashMap<>(current.players);
+            players.put(player.getUniqueId(), player);
+            updated = new Snapshot(players);
+        } while (!snapshot.compareAndSet(current, updated));
+    }
+
+    /**
+     * Removes a player from this index
+     * @param uuid The UUID of the player
+     */
+    public void remove(@NotNull UUID uuid) {
+        Snapshot current;
+        Snapshot updated;
+        do {
+            current = snapshot.get();
+            if (!current.players.containsKey(uuid)) return;
+            Map<UUID, Player> players = new LinkedHashMap<>(current.players);
+            players.remove(uuid);
+            updated = new Snapshot(players);
+        } while (!snapshot.compareAndSet(current, updated));
+    }
+
+    // the player is added as early as possible, so that other plugins can run commands on them while they join
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(@NotNull PlayerJoinEvent event) {
+        add(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        remove(event.getPlayer().getUniqueId());
+    }
+
+    private static final class Snapshot {
+        private final Map<UUID, Player> players;
+        private final Collection<Player> view;
+        private final CaseInsensitiveIndex<Player> byName;
+        private final StaticSuggestions names;
+
+        private Snapshot(@NotNull Map<UUID, Player> players) {
+            this.players = players;
+            this.view = Collections.unmodifiableCollection(players.values());
+            Map<String, Player> byName = new LinkedHashMap<>();
+            for (Player player : players.values()) byName.put(player.getName(), player);
+            this.byName = new CaseInsensitiveIndex<>(byName);
+            this.names = StaticSuggestions.ofIgnoreCase(byName.keySet());
+        }
+    }
+}
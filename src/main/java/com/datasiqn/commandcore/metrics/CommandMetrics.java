@@ -0,0 +1,132 @@
+package com.datasiqn.commandcore.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how long commands take to run, and how often they succeed or fail.
+ * <p>
+ * All recording methods are thread-safe, lock-free, and don't allocate once a command (or node path) has been recorded for the first time.
+ * If metrics are disabled, all recording methods do nothing.
+ */
+public final class CommandMetrics {
+    private static final CommandMetrics DISABLED = new CommandMetrics(false);
+
+    private final Map<String, CommandStats> commands = new ConcurrentHashMap<>();
+    private final boolean enabled;
+
+    /**
+     * Creates a new {@code CommandMetrics}
+     * @param enabled Whether anything should be recorded or not
+     */
+    public CommandMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets whether metrics are being recorded
+     * @return {@code true} if metrics are being recorded, {@code false} otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the metrics of a command
+     * @param command The name of the command
+     * @return The metrics, or null if the command has never been run
+     */
+    public @Nullable CommandStats getStats(@NotNull String command) {
+        return commands.get(command);
+    }
+
+    /**
+     * Gets the metrics of every command that has been run
+     * @return An unmodifiable view of the metrics of every command
+     */
+    @UnmodifiableView
+    public @NotNull Collection<CommandStats> getAllStats() {
+        return Collections.unmodifiableCollection(commands.values());
+    }
+
+    /**
+     * Clears all recorded metrics
+     */
+    public void reset() {
+        commands.values().forEach(CommandStats::reset);
+    }
+
+    /**
+     * Records how long a phase took
+     * @param command The name of the command
+     * @param path The node path, or null if the command itself was executed
+     * @param phase The phase
+     * @param nanos The duration in nanoseconds
+     * @see CommandStats#getNodes()
+     */
+    public void record(@NotNull String command, @Nullable String path, @NotNull Phase phase, long nanos) {
+        if (enabled) stats(command).record(path, phase, nanos);
+    }
+
+    /**
+     * Records how long a command took to run in total
+     * @param command The name of the command
+     * @param nanos The duration in nanoseconds
+     */
+    public void recordTotal(@NotNull String command, long nanos) {
+        if (enabled) stats(command).recordTotal(nanos);
+    }
+
+    /**
+     * Records that a command ran without a usage error or permission denial
+     * @param command The name of the command
+     */
+    public void recordSuccess(@NotNull String command) {
+        if (enabled) stats(command).recordSuccess();
+    }
+
+    /**
+     * Records that a command was run with incorrect arguments
+     * @param command The name of the command
+     */
+    public void recordUsageError(@NotNull String command) {
+        if (enabled) stats(command).recordUsageError();
+    }
+
+    /**
+     * Records that a sender didn't have permission to run a command
+     * @param command The name of the command
+     */
+    public void recordPermissionDenial(@NotNull String command) {
+        if (enabled) stats(command).recordPermissionDenial();
+    }
+
+    /**
+     * Records that a requirement failed
+     * @param command The name of the command
+     */
+    public void recordRequirementFailure(@NotNull String command) {
+        if (enabled) stats(command).recordRequirementFailure();
+    }
+
+    /**
+     * Gets a {@code CommandMetrics} that never records anything
+     * @return A disabled {@code CommandMetrics}
+     */
+    public static @NotNull CommandMetrics disabled() {
+        return DISABLED;
+    }
+
+    private @NotNull CommandStats stats(@NotNull String command) {
+        CommandStats stats = commands.get(command);
+        // CommandStats::new doesn't capture anything, so this only allocates the first time a command is recorded
+        if (stats == null) stats = commands.computeIfAbsent(command, CommandStats::new);
+        return stats;
+    }
+}
@@ -0,0 +1,142 @@
+package com.datasiqn.commandcore.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the metrics of a single command
+ */
+public final class CommandStats {
+    private final String name;
+    private final LatencyHistogram total = new LatencyHistogram();
+    private final PhaseTimings phases = new PhaseTimings();
+    private final Map<String, PhaseTimings> nodes = new ConcurrentHashMap<>();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong usageErrors = new AtomicLong();
+    private final AtomicLong permissionDenials = new AtomicLong();
+    private final AtomicLong requirementFailures = new AtomicLong();
+
+    CommandStats(@NotNull String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the name of the command
+     * @return The name of the command
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the histogram of how long the command took to run in total, from after it was looked up to after it returned
+     * @return The total histogram
+     */
+    public @NotNull LatencyHistogram getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the histogram of a phase for every run of the command, regardless of which node it resolved to
+     * @param phase The phase
+     * @return The histogram
+     */
+    public @NotNull LatencyHistogram getPhase(@NotNull Phase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * Gets the timings of every node path that has been executed. A node path is the usage of each node from the command to the executed node, separated by spaces (such as {@code "add <amount>"})
+     * @return An unmodifiable view of the timings of each node path
+     */
+    @UnmodifiableView
+    public @NotNull Map<String, PhaseTimings> getNodes() {
+        return Collections.unmodifiableMap(nodes);
+    }
+
+    /**
+     * Gets the timings of a node path
+     * @param path The node path
+     * @return The timings, or null if the node path has never been executed
+     * @see #getNodes()
+     */
+    public @Nullable PhaseTimings getNode(@NotNull String path) {
+        return nodes.get(path);
+    }
+
+    /**
+     * Gets the number of times the command ran without a usage error or permission denial. This includes runs where a requirement failed
+     * @return The number of successes
+     */
+    public long getSuccesses() {
+        return successes.get();
+    }
+
+    /**
+     * Gets the number of times the command was run with incorrect arguments, which shows the sender the command's usages
+     * @return The number of usage errors
+     */
+    public long getUsageErrors() {
+        return usageErrors.get();
+    }
+
+    /**
+     * Gets the number of times the sender didn't have permission to run the command
+     * @return The number of permission denials
+     */
+    public long getPermissionDenials() {
+        return permissionDenials.get();
+    }
+
+    /**
+     * Gets the number of times a requirement of the resolved node failed
+     * @return The number of requirement failures
+     */
+    public long getRequirementFailures() {
+        return requirementFailures.get();
+    }
+
+    void recordTotal(long nanos) {
+        total.record(nanos);
+    }
+
+    void record(@Nullable String path, @NotNull Phase phase, long nanos) {
+        phases.record(phase, nanos);
+        if (path == null) return;
+        PhaseTimings timings = nodes.get(path);
+        if (timings == null) timings = nodes.computeIfAbsent(path, key -> new PhaseTimings());
+        timings.record(phase, nanos);
+    }
+
+    void recordSuccess() {
+        successes.incrementAndGet();
+    }
+
+    void recordUsageError() {
+        usageErrors.incrementAndGet();
+    }
+
+    void recordPermissionDenial() {
+        permissionDenials.incrementAndGet();
+    }
+
+    void recordRequirementFailure() {
+        requirementFailures.incrementAndGet();
+    }
+
+    void reset() {
+        total.reset();
+        phases.reset();
+        nodes.clear();
+        successes.set(0);
+        usageErrors.set(0);
+        permissionDenials.set(0);
+        requirementFailures.set(0);
+    }
+}
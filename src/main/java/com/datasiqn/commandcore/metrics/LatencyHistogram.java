@@ -0,0 +1,157 @@
+package com.datasiqn.commandcore.metrics;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations in nanoseconds.
+ * <p>
+ * Durations are put into buckets by powers of two, so bucket {@code i} holds durations less than {@code 2^i} nanoseconds (and at least {@code 2^(i - 1)}).
+ * Recording a duration never allocates, so it is cheap enough to always be enabled.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration
+     * @param nanos The duration in nanoseconds. Negative durations are recorded as {@code 0}
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.incrementAndGet();
+        total.addAndGet(nanos);
+        long currentMax;
+        while (nanos > (currentMax = max.get()) && !max.compareAndSet(currentMax, nanos)) {
+            // retry until this is the max, or another thread records a larger duration
+        }
+    }
+
+    /**
+     * Clears all recorded durations
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Takes a snapshot of this histogram. Durations that are recorded while taking a snapshot may or may not be included
+     * @return The snapshot
+     */
+    @Contract("-> new")
+    public @NotNull Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) counts[i] = buckets.get(i);
+        return new Snapshot(counts, count.get(), total.get(), max.get());
+    }
+
+    /**
+     * Gets the exclusive upper bound of a bucket
+     * @param bucket The index of the bucket
+     * @return The exclusive upper bound in nanoseconds, or {@link Long#MAX_VALUE} for the last bucket
+     */
+    public static long getUpperBound(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    /**
+     * Gets the number of buckets
+     * @return The number of buckets
+     */
+    public static int getBucketCount() {
+        return BUCKETS;
+    }
+
+    private static int bucketOf(long nanos) {
+        return Math.min(BUCKETS - Long.numberOfLeadingZeros(nanos), BUCKETS - 1);
+    }
+
+    /**
+     * An immutable snapshot of a {@code LatencyHistogram}
+     */
+    public static final class Snapshot {
+        private final long[] buckets;
+        private final long count;
+        private final long total;
+        private final long max;
+
+        private Snapshot(long @NotNull [] buckets, long count, long total, long max) {
+            this.buckets = buckets;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        /**
+         * Gets the number of recorded durations
+         * @return The number of recorded durations
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the sum of all recorded durations
+         * @return The sum in nanoseconds
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * Gets the longest recorded duration
+         * @return The longest duration in nanoseconds
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Gets the average of all recorded durations
+         * @return The average in nanoseconds, or {@code 0} if nothing was recorded
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+
+        /**
+         * Estimates a percentile, using the upper bound of the bucket that it falls in
+         * @param percentile The percentile, from {@code 0} to {@code 100}
+         * @return The estimated percentile in nanoseconds, which is never larger than {@link #getMax()}. If nothing was recorded, this is {@code 0}
+         * @throws IllegalArgumentException If {@code percentile} is not between {@code 0} and {@code 100}
+         */
+        public long getPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("percentile must be between 0 and 100");
+            long bucketTotal = 0;
+            for (long bucket : buckets) bucketTotal += bucket;
+            if (bucketTotal == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * bucketTotal));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) return Math.min(getUpperBound(i), max);
+            }
+            return max;
+        }
+
+        /**
+         * Gets the number of recorded durations in each bucket
+         * @return A copy of the bucket counts, where the index is the bucket
+         * @see LatencyHistogram#getUpperBound(int)
+         */
+        public long @NotNull [] getBuckets() {
+            return buckets.clone();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.datasiqn.commandcore.metrics;
+
+/**
+ * Represents a phase of executing a command that is timed separately
+ */
+public enum Phase {
+    /**
+     * Finding which node the arguments resolve to, which includes parsing every argument
+     */
+    PARSE,
+    /**
+     * Testing the rate limits and requirements of the resolved node
+     */
+    REQUIREMENT,
+    /**
+     * Calling the executor of the resolved node. For async and ticking executors, this only includes submitting the task
+     */
+    EXECUTE,
+}
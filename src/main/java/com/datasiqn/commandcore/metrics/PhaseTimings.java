@@ -0,0 +1,33 @@
+package com.datasiqn.commandcore.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Holds a {@code LatencyHistogram} for each {@link Phase}
+ */
+public final class PhaseTimings {
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+
+    PhaseTimings() {
+        for (int i = 0; i < histograms.length; i++) histograms[i] = new LatencyHistogram();
+    }
+
+    /**
+     * Gets the histogram for a phase
+     * @param phase The phase
+     * @return The histogram
+     */
+    public @NotNull LatencyHistogram get(@NotNull Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    void record(@NotNull Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    void reset() {
+        for (LatencyHistogram histogram : histograms) histogram.reset();
+    }
+}
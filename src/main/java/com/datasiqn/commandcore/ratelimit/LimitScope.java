@@ -0,0 +1,15 @@
+package com.datasiqn.commandcore.ratelimit;
+
+/**
+ * Represents who shares the permits of a {@code RateLimiter}
+ */
+public enum LimitScope {
+    /**
+     * Every sender has their own permits. Players and entities are told apart by their UUID, and every other sender by their name
+     */
+    SENDER,
+    /**
+     * All senders share the same permits
+     */
+    GLOBAL,
+}
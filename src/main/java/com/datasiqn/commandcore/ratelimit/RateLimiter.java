@@ -0,0 +1,169 @@
+package com.datasiqn.commandcore.ratelimit;
+
+import com.datasiqn.commandcore.command.source.CommandSource;
+import com.datasiqn.resultapi.None;
+import com.datasiqn.resultapi.Result;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket that allows a number of permits every period, either per sender or shared by everyone.
+ * <p>
+ * Each bucket is stored as a single {@code long}: the time at which it will be full again. Acquiring a permit is a single compare-and-set,
+ * so this is safe to use from any thread without locking. Buckets that are full again are indistinguishable from buckets that don't exist,
+ * so they are periodically evicted, which means that the store only ever holds senders that have recently been limited.
+ */
+public final class RateLimiter {
+    private static final long EVICTED = Long.MIN_VALUE;
+    private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+    private static final Object GLOBAL_KEY = new Object();
+
+    private final Map<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL);
+    private final int permits;
+    private final long interval;
+    private final long tolerance;
+    private final LimitScope scope;
+
+    /**
+     * Creates a new {@code RateLimiter}
+     * @param permits The number of permits that can be acquired every {@code period}. A cooldown has 1 permit
+     * @param period The period
+     * @param scope Who shares the permits
+     * @throws IllegalArgumentException If {@code permits} is less than 1, or {@code period} is not positive
+     */
+    public RateLimiter(int permits, @NotNull Duration period, @NotNull LimitScope scope) {
+        if (permits < 1) throw new IllegalArgumentException("permits must be at least 1");
+        if (period.isNegative() || period.isZero()) throw new IllegalArgumentException("period must be positive");
+        this.permits = permits;
+        // permits are given back one at a time, evenly spread over the period
+        this.interval = Math.max(1, period.toNanos() / permits);
+        this.tolerance = interval * (permits - 1);
+        this.scope = scope;
+    }
+
+    /**
+     * Attempts to acquire a permit for the sender of {@code source}
+     * @param source The source
+     * @return An {@code Ok} result if a permit was acquired, or an {@code Error} result with a message that says how long to wait
+     */
+    public @NotNull Result<None, String> tryAcquire(@NotNull CommandSource source) {
+        long wait = tryAcquire(getKey(source), System.nanoTime());
+        if (wait == 0) return Result.ok();
+        return Result.error("You must wait " + formatWait(wait) + " before using this again");
+    }
+
+    /**
+     * Attempts to acquire a permit for {@code key}
+     * @param key The key of the bucket
+     * @param now The current time, from {@link System#nanoTime()}
+     * @return {@code 0} if a permit was acquired, otherwise the number of nanoseconds until one can be acquired
+     */
+    public long tryAcquire(@NotNull Object key, long now) {
+        sweepIfDue(now);
+        while (true) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = buckets.putIfAbsent(key, new AtomicLong(now + interval));
+                if (bucket == null) return 0;
+            }
+            long fullAt = bucket.get();
+            if (fullAt == EVICTED) {
+                // the bucket is being evicted, so help remove it and start over with a new one
+                buckets.remove(key, bucket);
+                continue;
+            }
+            long wait = fullAt - tolerance - now;
+            if (wait > 0) return wait;
+            long start = fullAt - now > 0 ? fullAt : now;
+            if (bucket.compareAndSet(fullAt, start + interval)) return 0;
+        }
+    }
+
+    /**
+     * Gives back a permit that was acquired for the sender of {@code source}, for example because another limit rejected the same command
+     * @param source The source
+     */
+    public void refund(@NotNull CommandSource source) {
+        refund(getKey(source));
+    }
+
+    /**
+     * Gives back a permit that was acquired for {@code key}
+     * @param key The key of the bucket
+     */
+    public void refund(@NotNull Object key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) return;
+        while (true) {
+            long fullAt = bucket.get();
+            // an evicted bucket is already full, so there is nothing to give back
+            if (fullAt == EVICTED || bucket.compareAndSet(fullAt, fullAt - interval)) return;
+        }
+    }
+
+    /**
+     * Removes every bucket that is full again. This is done automatically while permits are acquired
+     * @param now The current time, from {@link System#nanoTime()}
+     */
+    public void sweep(long now) {
+        for (Map.Entry<Object, AtomicLong> entry : buckets.entrySet()) {
+            AtomicLong bucket = entry.getValue();
+            long fullAt = bucket.get();
+            // marking the bucket first means that a permit acquired while it is being removed can never be lost
+            if (fullAt != EVICTED && fullAt - now <= 0 && bucket.compareAndSet(fullAt, EVICTED)) buckets.remove(entry.getKey(), bucket);
+        }
+    }
+
+    /**
+     * Gets the number of buckets that are currently stored
+     * @return The number of buckets
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Gets the number of permits that can be acquired every period
+     * @return The number of permits
+     */
+    public int getPermits() {
+        return permits;
+    }
+
+    /**
+     * Gets who shares the permits
+     * @return The scope
+     */
+    public @NotNull LimitScope getScope() {
+        return scope;
+    }
+
+    private void sweepIfDue(long now) {
+        long next = nextSweep.get();
+        if (now - next < 0 || !nextSweep.compareAndSet(next, now + SWEEP_INTERVAL)) return;
+        sweep(now);
+    }
+
+    private @NotNull Object getKey(@NotNull CommandSource source) {
+        return scope == LimitScope.SENDER ? getKey(source.getSender()) : GLOBAL_KEY;
+    }
+
+    private static @NotNull Object getKey(@NotNull CommandSender sender) {
+        return sender instanceof Entity ? ((Entity) sender).getUniqueId() : sender.getName();
+    }
+
+    private static @NotNull String formatWait(long nanos) {
+        long tenths = (nanos + 99_999_999) / 100_000_000;
+        if (tenths < 600) return tenths / 10 + "." + tenths % 10 + "s";
+        long seconds = (tenths + 9) / 10;
+        return seconds / 60 + "m " + seconds % 60 + "s";
+    }
+}
@@ -0,0 +1,64 @@
+package com.datasiqn.commandcore.task;
+
+import com.datasiqn.commandcore.command.CommandContext;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a {@code TickingTask} that has been scheduled by a {@code TaskScheduler}
+ */
+public final class ScheduledTask {
+    private final CommandContext context;
+    private final TickingTask task;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+    long lastReport;
+
+    ScheduledTask(@NotNull CommandContext context, @NotNull TickingTask task, long now) {
+        this.context = context;
+        this.task = task;
+        this.lastReport = now;
+    }
+
+    /**
+     * Gets the context of the command that scheduled this task
+     * @return The context
+     */
+    public @NotNull CommandContext getContext() {
+        return context;
+    }
+
+    /**
+     * Gets the task that is being run
+     * @return The task
+     */
+    public @NotNull TickingTask getTask() {
+        return task;
+    }
+
+    /**
+     * Cancels this task. It is stopped before its next step, which is at the latest on the next tick. This can be called from any thread
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Gets whether this task has been cancelled. A task that threw an exception is cancelled too
+     * @return {@code true} if this task has been cancelled, {@code false} otherwise
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Gets whether this task has finished all of its steps
+     * @return {@code true} if this task has finished, {@code false} otherwise
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    void markDone() {
+        done = true;
+    }
+}
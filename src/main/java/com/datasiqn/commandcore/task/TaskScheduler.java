@@ -0,0 +1,155 @@
+package com.datasiqn.commandcore.task;
+
+import com.datasiqn.commandcore.command.CommandContext;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Runs {@code TickingTask}s on the main server thread, a few steps at a time.
+ * <p>
+ * Every tick, the steps of all running tasks are run in turn until the tick budget is used up, so a single task can't take up the whole tick,
+ * and many tasks share the budget fairly. At least one step is always run every tick, so every task eventually finishes.
+ * Tasks whose sender is a player are cancelled when that player quits, and tasks that throw an exception are cancelled after it is logged.
+ */
+public class TaskScheduler implements Listener {
+    private static final long REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(5);
+
+    private final Plugin plugin;
+    private final long budget;
+    private final Deque<ScheduledTask> running = new ArrayDeque<>();
+    private BukkitTask timer;
+
+    /**
+     * Creates a new {@code TaskScheduler}
+     * @param plugin The plugin that the ticking timer is registered to
+     * @param budgetNanos The maximum number of nanoseconds that tasks can run for each tick
+     */
+    public TaskScheduler(@NotNull Plugin plugin, long budgetNanos) {
+        this.plugin = plugin;
+        this.budget = budgetNanos;
+    }
+
+    /**
+     * Schedules a task. This must be called on the main server thread
+     * @param context The context of the command that is scheduling the task
+     * @param task The task
+     * @return The scheduled task, which can be used to cancel it
+     */
+    @Contract("_, _ -> new")
+    public @NotNull ScheduledTask submit(@NotNull CommandContext context, @NotNull TickingTask task) {
+        ScheduledTask scheduled = new ScheduledTask(context, task, System.nanoTime());
+        running.addLast(scheduled);
+        // the timer only runs while there are tasks, so an idle scheduler costs nothing
+        if (timer == null) timer = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1, 1);
+        return scheduled;
+    }
+
+    /**
+     * Gets all tasks that are currently running. This must be called on the main server thread
+     * @return An unmodifiable copy of all running tasks
+     */
+    @UnmodifiableView
+    public @NotNull List<ScheduledTask> getRunning() {
+        return Collections.unmodifiableList(new ArrayList<>(running));
+    }
+
+    /**
+     * Cancels every running task that was scheduled by {@code sender}. This must be called on the main server thread
+     * @param sender The sender
+     * @return The number of tasks that were cancelled
+     */
+    public int cancelAll(@NotNull CommandSender sender) {
+        int cancelled = 0;
+        for (ScheduledTask task : running) {
+            if (task.getContext().getSource().getSender() == sender && !task.isCancelled()) {
+                task.cancel();
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        cancelAll(event.getPlayer());
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        long now = start;
+        do {
+            ScheduledTask task = running.pollFirst();
+            if (task == null) break;
+            if (task.isCancelled()) {
+                cancel(task);
+                continue;
+            }
+            boolean finished;
+            try {
+                finished = task.getTask().step();
+            } catch (RuntimeException e) {
+                fail(task, e);
+                continue;
+            }
+            now = System.nanoTime();
+            if (finished) {
+                task.markDone();
+                continue;
+            }
+            try {
+                report(task, now);
+            } catch (RuntimeException e) {
+                fail(task, e);
+                continue;
+            }
+            running.addLast(task);
+        } while (now - start < budget);
+
+        if (running.isEmpty()) {
+            timer.cancel();
+            timer = null;
+        }
+    }
+
+    // a task that throws is stopped like a cancelled one, so that it can still clean up after itself
+    private static void fail(@NotNull ScheduledTask task, @NotNull RuntimeException exception) {
+        Bukkit.getLogger().log(Level.SEVERE, "[CommandCore] An exception occurred while running a task of the command " + task.getContext().getCommand().getName(), exception);
+        task.getContext().getSource().sendMessage(ChatColor.RED + "An internal error occurred while executing this command");
+        task.cancel();
+        cancel(task);
+    }
+
+    private static void cancel(@NotNull ScheduledTask task) {
+        try {
+            task.getTask().onCancel();
+        } catch (RuntimeException e) {
+            Bukkit.getLogger().log(Level.SEVERE, "[CommandCore] An exception occurred while cancelling a task of the command " + task.getContext().getCommand().getName(), e);
+        }
+    }
+
+    private static void report(@NotNull ScheduledTask task, long now) {
+        if (now - task.lastReport < REPORT_INTERVAL) return;
+        task.lastReport = now;
+        double progress = task.getTask().getProgress();
+        if (Double.isNaN(progress)) return;
+        task.getContext().getSource().sendMessage(ChatColor.GRAY + "Progress: " + Math.round(Math.max(0, Math.min(1, progress)) * 100) + "%");
+    }
+}
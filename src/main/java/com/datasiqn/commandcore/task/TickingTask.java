@@ -0,0 +1,28 @@
+package com.datasiqn.commandcore.task;
+
+/**
+ * Represents a long-running piece of work that is split into small steps, so that it can be spread across multiple ticks.
+ * <p>
+ * All methods are called on the main server thread.
+ */
+public interface TickingTask {
+    /**
+     * Does the next small piece of work. Each step should be short, since steps are run until the tick budget is used up
+     * @return {@code true} if the task is finished, {@code false} if there are more steps to run
+     */
+    boolean step();
+
+    /**
+     * Gets how far along this task is. This is periodically sent to the sender while the task is running
+     * @return A number between {@code 0} and {@code 1}, or {@link Double#NaN} if the progress is unknown
+     */
+    default double getProgress() {
+        return Double.NaN;
+    }
+
+    /**
+     * Called when this task is cancelled before it finished, either because {@link ScheduledTask#cancel()} was called, the sender left, or one of its methods threw an exception
+     */
+    default void onCancel() {
+    }
+}
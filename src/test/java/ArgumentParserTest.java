@@ -1,7 +1,7 @@
 import com.datasiqn.commandcore.argument.StringArgumentReader;
 import com.datasiqn.commandcore.argument.type.ArgumentType;
+import com.datasiqn.resultapi.None;
 import com.datasiqn.resultapi.Result;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.entity.EntityType;
@@ -13,16 +13,12 @@ import org.junit.Test;
 import java.util.function.Predicate;
 
 import static com.datasiqn.commandcore.argument.type.ArgumentType.*;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class ArgumentParserTest {
     static {
-        Bukkit.setServer(new MockServer.Builder()
-                .addPlayer("bob")
-                .addPlayer("jim")
-                .addWorld("world")
-                .addWorld("nether")
-                .build());
+        MockServer.install();
     }
 
     @Test
@@ -41,6 +37,16 @@ public class ArgumentParserTest {
         testOk("-13", INTEGER, -13);
         testErr("bla", INTEGER);
         testErr("12.3", INTEGER);
+        testOk("2147483647", INTEGER, Integer.MAX_VALUE);
+        testErr("2147483648", INTEGER);
+    }
+
+    @Test
+    public void testLong() {
+        testOk("2147483648", LONG, 2147483648L);
+        testOk("-9223372036854775808", LONG, Long.MIN_VALUE);
+        testErr("9223372036854775808", LONG);
+        testErr("-", LONG);
     }
 
     @Test
@@ -55,6 +61,15 @@ public class ArgumentParserTest {
         testOk("38.2", DOUBLE, 38.2);
         testOk("-1.202", DOUBLE, -1.202);
         testErr("word", DOUBLE);
+        testOk("1e3", DOUBLE, 1000.0);
+        testErr("1e", DOUBLE);
+    }
+
+    @Test
+    public void testFloat() {
+        testOk("38.2", FLOAT, 38.2f);
+        testOk("-1.5e2", FLOAT, -150f);
+        testErr(".", FLOAT);
     }
 
     @Test
@@ -69,6 +84,9 @@ public class ArgumentParserTest {
     public void testUuid() {
         testOk("9bf53faf-7391-4dee-a47f-e3313af0f243", UUID, java.util.UUID.fromString("9bf53faf-7391-4dee-a47f-e3313af0f243"));
         testErr("382a-dcm-d", UUID);
+        testErr("9bf53faf-7391-4dee-a47f-e3313af0f243-1", UUID);
+        testOk("7fffffffffffffff-0-0-0-0", UUID, java.util.UUID.fromString("7fffffffffffffff-0-0-0-0"));
+        testErr("8000000000000000-0-0-0-0", UUID);
     }
 
     @Test
@@ -147,6 +165,24 @@ public class ArgumentParserTest {
         testErr("aaaaaa", badEnum);
     }
 
+    @Test
+    public void testOverriddenEnum() {
+        ArgumentType<UppercaseEnum> aliased = new EnumArgumentType<UppercaseEnum>(UppercaseEnum.class) {
+            @Override
+            public @NotNull Result<UppercaseEnum, None> parseWord(String word) {
+                return word.equals("3") ? Result.ok(UppercaseEnum.THREE) : super.parseWord(word);
+            }
+
+            @Override
+            public @NotNull String getTypeName() {
+                return "constant";
+            }
+        };
+        testOk("3", aliased, UppercaseEnum.THREE);
+        testOk("wow", aliased, UppercaseEnum.WOW);
+        assertEquals("Invalid constant 'four'", aliased.parse(new StringArgumentReader("four")).unwrapError());
+    }
+
     @Test
     public void testPlayer() {
         this.<Player>testOk("jim", PLAYER, player -> player.getName().equals("jim"));
@@ -27,6 +27,30 @@ public class ArgumentReaderTest {
         assertTrue(reader.atEnd());
     }
 
+    @Test
+    public void testPeekWordEnd() {
+        ArgumentReader reader = new StringArgumentReader("i love bugs");
+        assertEquals(1, reader.peekWordEnd());
+        assertEquals(0, reader.index());
+        reader.jumpTo(2);
+        assertEquals(6, reader.peekWordEnd());
+        reader.jumpTo(7);
+        assertEquals(11, reader.peekWordEnd());
+    }
+
+    @Test
+    public void testSlice() {
+        ArgumentReader reader = new StringArgumentReader(java.nio.CharBuffer.wrap("i love bugs".toCharArray()));
+        assertEquals("love", reader.slice(2, 6).toString());
+        assertEquals("ov", reader.slice(2, 6).subSequence(1, 3).toString());
+        reader.jumpTo(2);
+        assertEquals("love", reader.nextWordSlice().toString());
+        assertEquals(' ', reader.get());
+        reader.next();
+        assertEquals("bugs", reader.nextWordSlice().toString());
+        assertTrue(reader.atEnd());
+    }
+
     @Test
     public void testAtEnd() {
         ArgumentReader reader = new StringArgumentReader("that cool");
@@ -0,0 +1,122 @@
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.argument.ArgumentReader;
+import com.datasiqn.commandcore.argument.StringArguments;
+import com.datasiqn.commandcore.argument.type.ArgumentType;
+import com.datasiqn.commandcore.command.Command;
+import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.command.TabComplete;
+import com.datasiqn.commandcore.command.builder.CommandBuilder;
+import com.datasiqn.resultapi.Result;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.datasiqn.commandcore.command.builder.ArgumentBuilder.argument;
+import static org.junit.Assert.*;
+
+public class AsyncTabCompleteTest {
+    static {
+        MockServer.install();
+    }
+
+    @Test
+    public void testEarlierArgumentsRequireMainThread() throws Exception {
+        MainThreadType mainThreadType = new MainThreadType();
+        Command command = new CommandBuilder("warp")
+                .then(argument(mainThreadType, "place")
+                        .then(argument(ArgumentType.BOOLEAN, "confirm")
+                                .executes(context -> {})))
+                .build();
+        assertNull(completeAsync(command, "home", ""));
+        assertEquals(0, mainThreadType.parses.get());
+
+        TabComplete complete = command.tabComplete(createContext(command, "home", ""));
+        assertEquals(1, mainThreadType.parses.get());
+        assertEquals(Arrays.asList("false", "true"), complete.values());
+    }
+
+    @Test
+    public void testWorldIsParsedOnMainThread() throws Exception {
+        Command command = new CommandBuilder("tp")
+                .then(argument(ArgumentType.WORLD, "world")
+                        .then(argument(ArgumentType.BOOLEAN, "safe")
+                                .executes(context -> {})))
+                .build();
+        assertNull(completeAsync(command, "nether", ""));
+        assertEquals(Arrays.asList("false", "true"), command.tabComplete(createContext(command, "nether", "")).values());
+    }
+
+    @Test
+    public void testThreadSafeArgumentsCompleteAsync() throws Exception {
+        Command command = new CommandBuilder("give")
+                .then(argument(ArgumentType.PLAYER, "player")
+                        .then(argument(ArgumentType.BOOLEAN, "silent")
+                                .executes(context -> {})))
+                .build();
+        TabComplete complete = completeAsync(command, "bob", "t");
+        assertNotNull(complete);
+        assertEquals("t", complete.getMatchingString());
+        assertEquals(Arrays.asList("false", "true"), complete.values());
+    }
+
+    @Test
+    public void testOverriddenEnumTabCompleteIsUsed() throws Exception {
+        ArgumentType<Direction> plain = new ArgumentType.EnumArgumentType<>(Direction.class);
+        ArgumentType<Direction> overridden = new ArgumentType.EnumArgumentType<Direction>(Direction.class) {
+            @Override
+            public @NotNull List<String> getTabComplete(@NotNull CommandContext context) {
+                return Collections.singletonList("up");
+            }
+        };
+        assertNotNull(plain.getStaticSuggestions());
+        assertNull(overridden.getStaticSuggestions());
+
+        Command command = new CommandBuilder("face")
+                .then(argument(overridden, "direction")
+                        .executes(context -> {}))
+                .build();
+        TabComplete complete = completeAsync(command, "");
+        assertNotNull(complete);
+        assertTrue(complete.getStaticSuggestions().isEmpty());
+        assertEquals(Collections.singletonList("up"), complete.values());
+    }
+
+    private static TabComplete completeAsync(Command command, String... args) throws Exception {
+        CommandContext context = createContext(command, args);
+        return CompletableFuture.supplyAsync(() -> command.tabCompleteAsync(context)).get();
+    }
+
+    private static CommandContext createContext(Command command, String... args) {
+        return CommandCore.createContext(CommandCore.createSource(new MockPlayer("bob")), command, command.getName(), new StringArguments(Arrays.asList(args)));
+    }
+
+    private static class MainThreadType implements ArgumentType<String> {
+        private final AtomicInteger parses = new AtomicInteger();
+
+        @Override
+        public @NotNull Result<String, String> parse(@NotNull ArgumentReader reader) {
+            parses.incrementAndGet();
+            return Result.ok(reader.nextWord());
+        }
+
+        @Override
+        public @NotNull List<String> getTabComplete(@NotNull CommandContext context) {
+            return Collections.singletonList("home");
+        }
+
+        @Override
+        public boolean requiresMainThread() {
+            return true;
+        }
+    }
+
+    private enum Direction {
+        UP,
+        DOWN,
+    }
+}
@@ -0,0 +1,118 @@
+import com.datasiqn.commandcore.argument.type.ArgumentType;
+import com.datasiqn.commandcore.argument.type.SimpleArgumentType;
+import com.datasiqn.commandcore.brigadier.BrigadierExporter;
+import com.datasiqn.commandcore.command.StaticSuggestions;
+import com.datasiqn.commandcore.command.builder.CommandBuilder;
+import com.datasiqn.commandcore.managers.CommandManager;
+import com.datasiqn.resultapi.None;
+import com.datasiqn.resultapi.Result;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import static com.datasiqn.commandcore.command.builder.ArgumentBuilder.argument;
+import static com.datasiqn.commandcore.command.builder.LiteralBuilder.literal;
+import static org.junit.Assert.*;
+
+public class BrigadierExporterTest {
+    private static final ArgumentType<String> GREEK = new SimpleArgumentType<String>() {
+        private final StaticSuggestions suggestions = StaticSuggestions.of("alpha", "beta");
+
+        @Override
+        public @NotNull String getTypeName() {
+            return "greek letter";
+        }
+
+        @Override
+        public @NotNull Result<String, None> parseWord(String word) {
+            return word.equals("alpha") || word.equals("beta") ? Result.ok(word) : Result.error(None.NONE);
+        }
+
+        @Override
+        public @NotNull StaticSuggestions getStaticSuggestions() {
+            return suggestions;
+        }
+    };
+
+    @Test
+    public void testLiteralsAndNumbers() {
+        CommandNode<Object> give = export(new CommandBuilder("give")
+                .then(literal("all")
+                        .then(argument(ArgumentType.NATURAL_NUMBER, "count")
+                                .executes(context -> {}))));
+        CommandNode<Object> all = give.getChild("all");
+        assertTrue(all instanceof LiteralCommandNode);
+        assertNull(all.getCommand());
+        CommandNode<Object> count = all.getChild("count");
+        assertTrue(count instanceof ArgumentCommandNode);
+        assertEquals(1, ((IntegerArgumentType) ((ArgumentCommandNode<?, ?>) count).getType()).getMinimum());
+        assertNotNull(count.getCommand());
+    }
+
+    @Test
+    public void testCaseSensitiveSuggestionsAreExpanded() {
+        CommandNode<Object> letter = export(new CommandBuilder("letter")
+                .then(argument(GREEK, "letter")
+                        .then(argument(ArgumentType.INTEGER, "index")
+                                .executes(context -> {}))));
+        assertEquals(2, letter.getChildren().size());
+        for (String suggestion : new String[] { "alpha", "beta" }) {
+            CommandNode<Object> expanded = letter.getChild(suggestion);
+            assertTrue(expanded instanceof LiteralCommandNode);
+            assertNotNull(expanded.getChild("index"));
+        }
+    }
+
+    @Test
+    public void testCaseInsensitiveTypesAreWords() {
+        CommandNode<Object> color = export(new CommandBuilder("color")
+                .then(argument(new ArgumentType.EnumArgumentType<>(Color.class), "color")
+                        .executes(context -> {}))
+                .then(argument(ArgumentType.BOOLEAN, "bool")
+                        .executes(context -> {})));
+        assertEquals(StringArgumentType.StringType.SINGLE_WORD, getStringType(color.getChild("color")));
+        assertNotNull(((ArgumentCommandNode<?, ?>) color.getChild("color")).getCustomSuggestions());
+        // booleans are exported as booleans, and not as a true and a false literal
+        assertFalse(color.getChild("bool") instanceof LiteralCommandNode);
+        assertNull(color.getChild("true"));
+    }
+
+    @Test
+    public void testOtherTypesAreGreedy() {
+        CommandNode<Object> say = export(new CommandBuilder("say")
+                .then(argument(ArgumentType.WORD, "word")
+                        .then(argument(ArgumentType.INTEGER, "times")
+                                .executes(context -> {})))
+                .then(argument(ArgumentType.ENTITY_SELECTOR, "target")
+                        .executes(context -> {})));
+        // words can contain characters like : and / that clients don't allow in words
+        CommandNode<Object> word = say.getChild("word");
+        assertEquals(StringArgumentType.StringType.GREEDY_PHRASE, getStringType(word));
+        assertTrue(word.getChildren().isEmpty());
+        assertNotNull(word.getCommand());
+        assertEquals(StringArgumentType.StringType.GREEDY_PHRASE, getStringType(say.getChild("target")));
+    }
+
+    private static CommandNode<Object> export(CommandBuilder command) {
+        CommandManager manager = new CommandManager();
+        manager.registerCommand(command);
+        BrigadierExporter<Object> exporter = new BrigadierExporter<>(context -> 1, (context, builder) -> null, source -> null);
+        LiteralCommandNode<Object> root = exporter.export("root", source -> true, manager);
+        assertEquals(1, root.getChildren().size());
+        return root.getChildren().iterator().next();
+    }
+
+    private static StringArgumentType.StringType getStringType(CommandNode<Object> node) {
+        assertTrue(node instanceof ArgumentCommandNode);
+        return ((StringArgumentType) ((ArgumentCommandNode<?, ?>) node).getType()).getType();
+    }
+
+    private enum Color {
+        RED,
+        LIGHT_BLUE,
+    }
+}
@@ -0,0 +1,35 @@
+import com.datasiqn.commandcore.command.builder.CommandBuilder;
+import com.datasiqn.commandcore.managers.CommandManager;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CommandManagerTest {
+    @Test
+    public void testIgnoreCase() {
+        CommandManager manager = new CommandManager(true);
+        manager.registerCommands(new CommandBuilder("Help").alias("h"), new CommandBuilder("warp").alias("w"));
+        assertEquals("Help", manager.findCommand("HELP").getName());
+        assertEquals("warp", manager.findCommand("W").getName());
+        assertNull(manager.findCommand("home"));
+    }
+
+    @Test
+    public void testNamesThatOnlyDifferInCase() {
+        CommandManager manager = new CommandManager(true);
+        manager.registerCommand(new CommandBuilder("Help").alias("h"));
+        assertThrows(IllegalArgumentException.class, () -> manager.registerCommand(new CommandBuilder("help")));
+        assertThrows(IllegalArgumentException.class, () -> manager.registerCommand(new CommandBuilder("info").alias("HELP")));
+        assertThrows(IllegalArgumentException.class, () -> manager.registerCommand(new CommandBuilder("H")));
+        // nothing is registered if any command is rejected
+        assertThrows(IllegalArgumentException.class, () -> manager.registerCommands(new CommandBuilder("warp"), new CommandBuilder("WARP")));
+        assertNull(manager.findCommand("warp"));
+        // a command can use the same name in different cases
+        manager.registerCommand(new CommandBuilder("Home").alias("home"));
+        assertEquals("Home", manager.findCommand("HOME").getName());
+
+        CommandManager caseSensitive = new CommandManager(false);
+        caseSensitive.registerCommands(new CommandBuilder("help"), new CommandBuilder("Help"));
+        assertEquals("Help", caseSensitive.findCommand("Help").getName());
+    }
+}
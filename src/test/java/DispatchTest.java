@@ -0,0 +1,159 @@
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.argument.ArgumentReader;
+import com.datasiqn.commandcore.argument.StringArguments;
+import com.datasiqn.commandcore.argument.type.ArgumentType;
+import com.datasiqn.commandcore.command.Command;
+import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.command.builder.CommandBuilder;
+import com.datasiqn.commandcore.command.builder.CommandNode;
+import com.datasiqn.resultapi.None;
+import com.datasiqn.resultapi.Result;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.datasiqn.commandcore.command.builder.ArgumentBuilder.argument;
+import static org.junit.Assert.*;
+
+public class DispatchTest {
+    static {
+        MockServer.install();
+    }
+
+    private final List<String> executed = new ArrayList<>();
+
+    @Test
+    public void testSharedTypeIsParsedOnce() {
+        CountingType counting = new CountingType();
+        Command command = new CommandBuilder("count")
+                .then(argument(counting, "first")
+                        .executes(context -> executed.add("first " + context.getArguments().get(0, counting))))
+                .then(argument(counting, "second")
+                        .executes(context -> executed.add("second " + context.getArguments().get(0, counting))))
+                .then(argument(ArgumentType.WORD, "word")
+                        .executes(context -> executed.add("word " + context.getArguments().getString(0))))
+                .build();
+        assertTrue(execute(command, "abc").isOk());
+        // the word is only parsed once, even though two siblings parse it with the same type
+        assertEquals(1, counting.parses);
+        assertTrue(execute(command, "5").isOk());
+        assertEquals(2, counting.parses);
+        assertEquals(Arrays.asList("word abc", "first 5"), executed);
+    }
+
+    @Test
+    public void testSharedTypeKeepsErrors() {
+        CountingType counting = new CountingType();
+        Command shared = new CommandBuilder("count")
+                .then(argument(counting, "first").executes(context -> {}))
+                .then(argument(counting, "second").executes(context -> {}))
+                .build();
+        Command separate = new CommandBuilder("count")
+                .then(argument(new CountingType(), "first").executes(context -> {}))
+                .then(argument(new CountingType(), "second").executes(context -> {}))
+                .build();
+        Result<None, List<String>> sharedResult = execute(shared, "abc");
+        assertEquals(1, counting.parses);
+        assertTrue(sharedResult.isError());
+        assertEquals(execute(separate, "abc").unwrapError(), sharedResult.unwrapError());
+        assertEquals(2, Collections.frequency(sharedResult.unwrapError(), "Invalid count 'abc'"));
+    }
+
+    @Test
+    public void testSameClassWithDifferentRules() {
+        Command command = new CommandBuilder("ranged")
+                .then(argument(ArgumentType.rangedInt(5, 10), "small")
+                        .executes(context -> executed.add("small " + context.getArguments().getString(0))))
+                .then(argument(ArgumentType.rangedInt(1), "natural")
+                        .executes(context -> executed.add("natural " + context.getArguments().getString(0))))
+                .build();
+        assertTrue(execute(command, "7").isOk());
+        assertTrue(execute(command, "3").isOk());
+        assertTrue(execute(command, "11").isOk());
+        assertEquals(Arrays.asList("small 7", "natural 3", "natural 11"), executed);
+
+        Result<None, List<String>> result = execute(command, "0");
+        assertTrue(result.isError());
+        List<String> errors = result.unwrapError();
+        assertEquals("Integer must not be below 5", errors.get(0));
+        assertEquals("Integer must not be below 1", errors.get(1));
+    }
+
+    @Test
+    public void testReorderingKeepsWinners() throws ReflectiveOperationException {
+        CountingType counting = new CountingType();
+        Command command = buildAdaptive(new CommandBuilder("mixed")
+                .then(argument(counting, "number")
+                        .executes(context -> executed.add("number")))
+                .then(argument(ArgumentType.BOOLEAN, "bool")
+                        .executes(context -> executed.add("bool")))
+                .then(argument(ArgumentType.WORD, "word")
+                        .executes(context -> executed.add("word"))));
+        List<String> winners = Arrays.asList("number", "bool", "word");
+        execute(command, "5");
+        execute(command, "true");
+        execute(command, "abc");
+        assertEquals(winners, executed);
+
+        // booleans can never be numbers, so they are moved in front of them
+        for (int i = 0; i < 4096; i++) execute(command, "true");
+        counting.parses = 0;
+        executed.clear();
+        execute(command, "true");
+        assertEquals(0, counting.parses);
+        // words can be anything, so they are never moved in front of numbers or booleans
+        for (int i = 0; i < 4096; i++) execute(command, "abc");
+        executed.clear();
+        execute(command, "5");
+        execute(command, "true");
+        execute(command, "abc");
+        assertEquals(winners, executed);
+    }
+
+    // adaptive dispatch is normally only enabled through the options that CommandCore is initialized with
+    private static Command buildAdaptive(CommandBuilder builder) throws ReflectiveOperationException {
+        String packageName = CommandNode.class.getPackage().getName();
+        Class<?> dispatchClass = Class.forName(packageName + ".DispatchNode");
+        Method compile = dispatchClass.getDeclaredMethod("compile", CommandBuilder.class, boolean.class);
+        compile.setAccessible(true);
+        Constructor<?> constructor = Class.forName(packageName + ".BuilderCommand").getDeclaredConstructor(CommandBuilder.class, dispatchClass);
+        constructor.setAccessible(true);
+        return (Command) constructor.newInstance(builder, compile.invoke(null, builder, true));
+    }
+
+    private static Result<None, List<String>> execute(Command command, String... args) {
+        CommandContext context = CommandCore.createContext(CommandCore.createSource(new MockPlayer("bob")), command, command.getName(), new StringArguments(Arrays.asList(args)));
+        return command.execute(context);
+    }
+
+    private static class CountingType implements ArgumentType<Integer> {
+        private int parses;
+
+        @Override
+        public @NotNull Result<Integer, String> parse(@NotNull ArgumentReader reader) {
+            parses++;
+            String word = reader.nextWord();
+            try {
+                return Result.ok(Integer.parseInt(word));
+            } catch (NumberFormatException e) {
+                return Result.error("Invalid count '" + word + "'");
+            }
+        }
+
+        @Override
+        public @NotNull List<String> getTabComplete(@NotNull CommandContext context) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public @NotNull WordKind getWordKind() {
+            return WordKind.NUMBER;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+import com.datasiqn.commandcore.argument.ArgumentReader;
+import com.datasiqn.commandcore.argument.StringArgumentReader;
+import com.datasiqn.commandcore.argument.selector.EntitySelector;
+import com.datasiqn.commandcore.argument.type.ArgumentType;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EntitySelectorTest {
+    private final MockWorld world = new MockWorld("world");
+    private final Location origin = new Location(world, 0, 0, 0);
+    private final MockPlayer near = addPlayer("near", 1);
+    private final MockPlayer middle = addPlayer("middle", 5);
+    private final MockPlayer far = addPlayer("far", 20);
+
+    public EntitySelectorTest() {
+        middle.addScoreboardTag("red");
+    }
+
+    @Test
+    public void testParse() {
+        assertTrue(EntitySelector.parse("@a").isOk());
+        assertTrue(EntitySelector.parse("@e[type=zombie,distance=..10,limit=3,sort=nearest,tag=foo,tag=!bar,name=!Steve]").isOk());
+        assertTrue(EntitySelector.parse("@e[]").isOk());
+        assertTrue(EntitySelector.parse("Notch").isOk());
+        assertTrue(EntitySelector.parse("@p").unwrap().isSingle());
+        assertFalse(EntitySelector.parse("@e[type=player]").unwrap().isSingle());
+        assertTrue(EntitySelector.parse("@e[type=player]").unwrap().isPlayersOnly());
+
+        assertTrue(EntitySelector.parse("@x").isError());
+        assertTrue(EntitySelector.parse("@e[").isError());
+        assertTrue(EntitySelector.parse("@e[limit=0]").isError());
+        assertTrue(EntitySelector.parse("@e[type=zombie,type=player]").isError());
+        assertTrue(EntitySelector.parse("@e[type=not_an_entity]").isError());
+        assertTrue(EntitySelector.parse("@e[distance=5..1]").isError());
+        assertTrue(EntitySelector.parse("@e[sort=sideways]").isError());
+        assertTrue(EntitySelector.parse("@e[unknown=1]").isError());
+        assertTrue(EntitySelector.parse("not a name!").isError());
+    }
+
+    @Test
+    public void testNearest() {
+        assertEquals(Collections.singletonList(near), select("@p"));
+        assertEquals(Collections.singletonList(middle), select("@p[tag=red]"));
+        assertEquals(Collections.singletonList(far), select("@e[distance=..100,sort=furthest,limit=1]"));
+    }
+
+    @Test
+    public void testDistance() {
+        assertEquals(new HashSet<>(Arrays.asList(near, middle)), new HashSet<>(select("@e[distance=..6]")));
+        assertEquals(Arrays.asList(middle, far), select("@e[distance=2..30,sort=nearest]"));
+        assertEquals(Collections.singletonList(middle), select("@a[distance=..6,tag=red]"));
+        assertEquals(Collections.emptyList(), select("@e[distance=..100,type=!player]"));
+    }
+
+    @Test
+    public void testSelf() {
+        assertEquals(Collections.singletonList(near), EntitySelector.parse("@s").unwrap().select(near, origin));
+        assertEquals(Collections.emptyList(), EntitySelector.parse("@s[tag=red]").unwrap().select(near, origin));
+        assertEquals(Collections.emptyList(), EntitySelector.parse("@s").unwrap().select(null, origin));
+    }
+
+    @Test
+    public void testSpacesInOptions() {
+        assertEquals(Collections.singletonList(middle), select("@a[ distance = ..6 , tag=red ]"));
+
+        ArgumentReader reader = new StringArgumentReader("@e[distance=..6, tag=red] next");
+        EntitySelector selector = ArgumentType.ENTITY_SELECTOR.parse(reader).unwrap();
+        assertEquals(Collections.singletonList(middle), selector.select(null, origin));
+        assertEquals(" next", reader.splice(reader.index()));
+
+        reader = new StringArgumentReader("@e[tag=red, limit=1]");
+        assertTrue(ArgumentType.ENTITY_SELECTOR.parse(reader).isOk());
+        assertTrue(reader.atEnd());
+        assertTrue(ArgumentType.ENTITY_SELECTOR.parse(new StringArgumentReader("@e[tag=red, limit=1")).isError());
+        assertTrue(ArgumentType.ENTITY_SELECTOR.parse(new StringArgumentReader("Notch [tag=red]")).isOk());
+    }
+
+    private @NotNull List<Entity> select(@NotNull String selector) {
+        return EntitySelector.parse(selector).unwrap().select(null, origin);
+    }
+
+    private @NotNull MockPlayer addPlayer(@NotNull String name, double x) {
+        MockPlayer player = new MockPlayer(name, new Location(world, x, 0, 0));
+        world.addEntity(player);
+        return player;
+    }
+}
@@ -0,0 +1,75 @@
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.InitOptions;
+import com.datasiqn.commandcore.argument.StringArguments;
+import com.datasiqn.commandcore.argument.type.ArgumentType;
+import com.datasiqn.commandcore.command.Command;
+import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.command.builder.CommandBuilder;
+import com.datasiqn.commandcore.command.builder.CommandNode;
+import com.datasiqn.resultapi.None;
+import com.datasiqn.resultapi.Result;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.datasiqn.commandcore.command.builder.ArgumentBuilder.argument;
+import static org.junit.Assert.*;
+
+public class InputLimitsTest {
+    static {
+        MockServer.install();
+    }
+
+    @Test
+    public void testMaxInputLength() {
+        InitOptions options = InitOptions.Builder.create("root").maxInputLength(10).build();
+        assertFalse(options.isTooLarge("root 0123456789", 5));
+        assertTrue(options.isTooLarge("root 0123456789a", 5));
+        // the spaces between arguments are counted as well
+        assertFalse(options.isTooLarge(new String[] { "01234", "5678" }));
+        assertTrue(options.isTooLarge(new String[] { "01234", "56789" }));
+    }
+
+    @Test
+    public void testMaxArguments() {
+        InitOptions options = InitOptions.Builder.create("root").maxArguments(3).build();
+        assertFalse(options.isTooLarge("root a b c", 5));
+        assertTrue(options.isTooLarge("root a b c d", 5));
+        // a trailing space starts an empty argument
+        assertTrue(options.isTooLarge("root a b c ", 5));
+        assertFalse(options.isTooLarge(new String[] { "a", "b", "c" }));
+        assertTrue(options.isTooLarge(new String[] { "a", "b", "c", "" }));
+    }
+
+    @Test
+    public void testMaxDepth() throws ReflectiveOperationException {
+        CommandBuilder builder = new CommandBuilder("deep")
+                .then(argument(ArgumentType.WORD, "first")
+                        .then(argument(ArgumentType.WORD, "second")
+                                .then(argument(ArgumentType.WORD, "third")
+                                        .executes(context -> {}))));
+        assertTrue(execute(build(builder, 3), "a", "b", "c").isOk());
+        Result<None, List<String>> result = execute(build(builder, 2), "a", "b", "c");
+        assertTrue(result.isError());
+        assertEquals("Expected at most 2 parameters", result.unwrapError().get(0));
+    }
+
+    // the maximum depth is normally only set through the options that CommandCore is initialized with
+    private static Command build(CommandBuilder builder, int maxDepth) throws ReflectiveOperationException {
+        String packageName = CommandNode.class.getPackage().getName();
+        Class<?> dispatchClass = Class.forName(packageName + ".DispatchNode");
+        Method compile = dispatchClass.getDeclaredMethod("compile", CommandBuilder.class);
+        compile.setAccessible(true);
+        Constructor<?> constructor = Class.forName(packageName + ".BuilderCommand").getDeclaredConstructor(CommandBuilder.class, dispatchClass, int.class);
+        constructor.setAccessible(true);
+        return (Command) constructor.newInstance(builder, compile.invoke(null, builder), maxDepth);
+    }
+
+    private static Result<None, List<String>> execute(Command command, String... args) {
+        CommandContext context = CommandCore.createContext(CommandCore.createSource(new MockPlayer("bob")), command, command.getName(), new StringArguments(Arrays.asList(args)));
+        return command.execute(context);
+    }
+}
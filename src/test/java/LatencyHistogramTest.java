@@ -0,0 +1,42 @@
+import com.datasiqn.commandcore.metrics.LatencyHistogram;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+    @Test
+    public void testRecord() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        histogram.record(300);
+        histogram.record(-5);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(3, snapshot.getCount());
+        assertEquals(400, snapshot.getTotal());
+        assertEquals(300, snapshot.getMax());
+        assertEquals(400 / 3.0, snapshot.getMean(), 0.0001);
+        assertEquals(1, snapshot.getBuckets()[0]);
+    }
+
+    @Test
+    public void testPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getPercentile(99));
+        for (int i = 0; i < 99; i++) histogram.record(100);
+        histogram.record(1_000_000);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(128, snapshot.getPercentile(50));
+        assertEquals(128, snapshot.getPercentile(99));
+        assertEquals(1_000_000, snapshot.getPercentile(100));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentile(101));
+    }
+
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getMax());
+    }
+}
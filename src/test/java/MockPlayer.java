@@ -38,9 +38,16 @@ import java.util.*;
 @SuppressWarnings("ConstantConditions")
 public class MockPlayer implements Player {
     private final String name;
+    private final Location location;
+    private final Set<String> tags = new HashSet<>();
 
     public MockPlayer(String name) {
+        this(name, null);
+    }
+
+    public MockPlayer(String name, Location location) {
         this.name = name;
+        this.location = location;
     }
 
     @NotNull
@@ -162,7 +169,7 @@ public class MockPlayer implements Player {
     @NotNull
     @Override
     public Location getLocation() {
-        return null;
+        return location;
     }
 
     @Nullable
@@ -211,7 +218,7 @@ public class MockPlayer implements Player {
     @NotNull
     @Override
     public World getWorld() {
-        return null;
+        return location == null ? null : location.getWorld();
     }
 
     @Override
@@ -428,7 +435,7 @@ public class MockPlayer implements Player {
     @NotNull
     @Override
     public EntityType getType() {
-        return null;
+        return EntityType.PLAYER;
     }
 
     @Override
@@ -510,12 +517,12 @@ public class MockPlayer implements Player {
     @NotNull
     @Override
     public Set<String> getScoreboardTags() {
-        return null;
+        return tags;
     }
 
     @Override
     public boolean addScoreboardTag(@NotNull String tag) {
-        return false;
+        return tags.add(tag);
     }
 
     @Override
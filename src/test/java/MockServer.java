@@ -21,6 +21,7 @@ import org.bukkit.plugin.ServicesManager;
 import org.bukkit.plugin.messaging.Messenger;
 import org.bukkit.profile.PlayerProfile;
 import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.ScoreboardManager;
 import org.bukkit.structure.StructureManager;
 import org.bukkit.util.CachedServerIcon;
@@ -29,6 +30,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.lang.reflect.Proxy;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
@@ -38,12 +40,47 @@ import java.util.stream.Collectors;
 public class MockServer implements Server {
     private final Set<Player> players;
     private final List<World> worlds;
+    private final List<Runnable> timers = new ArrayList<>();
+    // only timers are needed by the tests, so every other method throws
+    private final BukkitScheduler scheduler = (BukkitScheduler) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { BukkitScheduler.class }, (proxy, method, args) -> {
+        if (!method.getName().equals("runTaskTimer") || !(args[1] instanceof Runnable)) throw new UnsupportedOperationException(method.getName());
+        Runnable timer = (Runnable) args[1];
+        timers.add(timer);
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { BukkitTask.class }, (taskProxy, taskMethod, taskArgs) -> {
+            if (taskMethod.getName().equals("cancel")) {
+                timers.remove(timer);
+                return null;
+            }
+            if (taskMethod.getName().equals("isCancelled")) return !timers.contains(timer);
+            throw new UnsupportedOperationException(taskMethod.getName());
+        });
+    });
 
     public MockServer(@NotNull Builder builder) {
         this.players = builder.players.stream().map(MockPlayer::new).collect(Collectors.toSet());
         this.worlds = builder.worlds.stream().map(MockWorld::new).collect(Collectors.toList());
     }
 
+    /**
+     * Runs every timer once, as if a tick had passed
+     */
+    public void tick() {
+        for (Runnable timer : new ArrayList<>(timers)) timer.run();
+    }
+
+    /**
+     * Sets the server that every test shares. Bukkit only allows the server to be set once, so this does nothing if it has already been set
+     */
+    public static void install() {
+        if (Bukkit.getServer() != null) return;
+        Bukkit.setServer(new Builder()
+                .addPlayer("bob")
+                .addPlayer("jim")
+                .addWorld("world")
+                .addWorld("nether")
+                .build());
+    }
+
     @NotNull
     @Override
     public String getName() {
@@ -267,7 +304,7 @@ public class MockServer implements Server {
     @NotNull
     @Override
     public BukkitScheduler getScheduler() {
-        return null;
+        return scheduler;
     }
 
     @NotNull
@@ -26,11 +26,16 @@ import java.util.function.Predicate;
 @SuppressWarnings("ConstantConditions")
 public class MockWorld implements World {
     private final String name;
+    private final List<Entity> entities = new ArrayList<>();
 
     public MockWorld(String name) {
         this.name = name;
     }
 
+    public void addEntity(Entity entity) {
+        entities.add(entity);
+    }
+
     @NotNull
     @Override
     public Block getBlockAt(int x, int y, int z) {
@@ -385,7 +390,7 @@ public class MockWorld implements World {
     @NotNull
     @Override
     public List<Entity> getEntities() {
-        return null;
+        return new ArrayList<>(entities);
     }
 
     @NotNull
@@ -433,19 +438,29 @@ public class MockWorld implements World {
     @NotNull
     @Override
     public List<Player> getPlayers() {
-        return null;
+        List<Player> players = new ArrayList<>();
+        for (Entity entity : entities) {
+            if (entity instanceof Player) players.add((Player) entity);
+        }
+        return players;
     }
 
     @NotNull
     @Override
     public Collection<Entity> getNearbyEntities(@NotNull Location location, double x, double y, double z) {
-        return null;
+        return getNearbyEntities(location, x, y, z, null);
     }
 
     @NotNull
     @Override
     public Collection<Entity> getNearbyEntities(@NotNull Location location, double x, double y, double z, @Nullable Predicate<Entity> filter) {
-        return null;
+        List<Entity> nearby = new ArrayList<>();
+        for (Entity entity : entities) {
+            Location entityLocation = entity.getLocation();
+            if (Math.abs(entityLocation.getX() - location.getX()) > x || Math.abs(entityLocation.getY() - location.getY()) > y || Math.abs(entityLocation.getZ() - location.getZ()) > z) continue;
+            if (filter == null || filter.test(entity)) nearby.add(entity);
+        }
+        return nearby;
     }
 
     @NotNull
@@ -0,0 +1,47 @@
+import com.datasiqn.commandcore.managers.OfflinePlayerCache;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class OfflinePlayerCacheTest {
+    @Test
+    public void testLookup() {
+        OfflinePlayerCache cache = new OfflinePlayerCache(10);
+        UUID uuid = UUID.randomUUID();
+        cache.put("Notch", uuid);
+        assertEquals(uuid, cache.getUniqueId("notch"));
+        assertEquals("Notch", cache.getName(uuid));
+        assertNull(cache.getUniqueId("jeb_"));
+        assertEquals(Arrays.asList("Notch"), cache.getNamesWithPrefix("no"));
+    }
+
+    @Test
+    public void testRename() {
+        OfflinePlayerCache cache = new OfflinePlayerCache(10);
+        UUID uuid = UUID.randomUUID();
+        cache.put("bob", uuid);
+        cache.put("bobby", uuid);
+        assertNull(cache.getUniqueId("bob"));
+        assertEquals(uuid, cache.getUniqueId("bobby"));
+        assertEquals(Arrays.asList("bobby"), cache.getNamesWithPrefix("b"));
+
+        // a new player took the name, so the old player no longer has a name
+        UUID other = UUID.randomUUID();
+        cache.put("bobby", other);
+        assertEquals(other, cache.getUniqueId("bobby"));
+        assertNull(cache.getName(uuid));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testEviction() {
+        OfflinePlayerCache cache = new OfflinePlayerCache(16);
+        for (int i = 0; i < 17; i++) cache.put("player" + i, UUID.randomUUID());
+        assertTrue(cache.size() <= 16);
+        assertNull(cache.getUniqueId("player0"));
+        assertNotNull(cache.getUniqueId("player16"));
+    }
+}
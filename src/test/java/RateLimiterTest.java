@@ -0,0 +1,96 @@
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.argument.StringArguments;
+import com.datasiqn.commandcore.command.Command;
+import com.datasiqn.commandcore.command.builder.CommandBuilder;
+import com.datasiqn.commandcore.ratelimit.LimitScope;
+import com.datasiqn.commandcore.ratelimit.RateLimiter;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.datasiqn.commandcore.command.builder.LiteralBuilder.literal;
+import static org.junit.Assert.*;
+
+public class RateLimiterTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void testCooldown() {
+        RateLimiter limiter = new RateLimiter(1, Duration.ofSeconds(5), LimitScope.SENDER);
+        assertEquals(0, limiter.tryAcquire("a", 0));
+        assertEquals(4 * SECOND, limiter.tryAcquire("a", SECOND));
+        assertEquals(0, limiter.tryAcquire("b", SECOND));
+        assertEquals(0, limiter.tryAcquire("a", 5 * SECOND));
+    }
+
+    @Test
+    public void testBurst() {
+        RateLimiter limiter = new RateLimiter(3, Duration.ofSeconds(3), LimitScope.GLOBAL);
+        for (int i = 0; i < 3; i++) assertEquals(0, limiter.tryAcquire("a", 0));
+        assertEquals(SECOND, limiter.tryAcquire("a", 0));
+        // a single permit is given back every second
+        assertEquals(0, limiter.tryAcquire("a", SECOND));
+        assertTrue(limiter.tryAcquire("a", SECOND) > 0);
+    }
+
+    @Test
+    public void testSweep() {
+        RateLimiter limiter = new RateLimiter(2, Duration.ofSeconds(2), LimitScope.SENDER);
+        limiter.tryAcquire("a", 0);
+        limiter.tryAcquire("b", SECOND);
+        limiter.sweep(SECOND);
+        assertEquals(1, limiter.size());
+        limiter.sweep(2 * SECOND);
+        assertEquals(0, limiter.size());
+        assertEquals(0, limiter.tryAcquire("b", 2 * SECOND));
+    }
+
+    @Test
+    public void testRefund() {
+        RateLimiter limiter = new RateLimiter(2, Duration.ofSeconds(2), LimitScope.SENDER);
+        assertEquals(0, limiter.tryAcquire("a", 0));
+        assertEquals(0, limiter.tryAcquire("a", 0));
+        limiter.refund("a");
+        assertEquals(0, limiter.tryAcquire("a", 0));
+        assertEquals(SECOND, limiter.tryAcquire("a", 0));
+        // refunding a sender that has every permit does nothing
+        limiter.refund("b");
+        assertEquals(1, limiter.size());
+        assertEquals(0, limiter.tryAcquire("b", 0));
+        assertEquals(0, limiter.tryAcquire("b", 0));
+        assertEquals(SECOND, limiter.tryAcquire("b", 0));
+    }
+
+    @Test
+    public void testRejectedCommandsKeepPermits() {
+        List<String> executed = new ArrayList<>();
+        Command command = new CommandBuilder("spell")
+                .rateLimit(2, Duration.ofHours(1))
+                .then(literal("fireball")
+                        .cooldown(Duration.ofHours(1))
+                        .executes(context -> executed.add("fireball")))
+                .then(literal("heal")
+                        .executes(context -> executed.add("heal")))
+                .build();
+        MockPlayer player = new MockPlayer("bob");
+        execute(command, player, "fireball");
+        // the command's permit is given back, since the cooldown of fireball rejected it
+        execute(command, player, "fireball");
+        execute(command, player, "heal");
+        execute(command, player, "heal");
+        assertEquals(Arrays.asList("fireball", "heal"), executed);
+    }
+
+    @Test
+    public void testInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, Duration.ofSeconds(1), LimitScope.SENDER));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, Duration.ZERO, LimitScope.SENDER));
+    }
+
+    private static void execute(Command command, MockPlayer player, String... args) {
+        assertTrue(command.execute(CommandCore.createContext(CommandCore.createSource(player), command, command.getName(), new StringArguments(Arrays.asList(args)))).isOk());
+    }
+}
@@ -0,0 +1,106 @@
+import com.datasiqn.commandcore.CommandCore;
+import org.bukkit.command.CommandSender;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class TabCompleteDebouncerTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    static {
+        MockServer.install();
+    }
+
+    private final MockPlayer sender = new MockPlayer("bob");
+    private int computed;
+
+    @Test
+    public void testServe() throws ReflectiveOperationException {
+        Debouncer debouncer = new Debouncer(Duration.ofSeconds(1));
+        assertEquals(Arrays.asList("apple", "apricot"), debouncer.complete(sender, 0, "give", "ap"));
+        assertEquals(Arrays.asList("apple", "apricot"), debouncer.complete(sender, SECOND / 2, "give", "ap"));
+        assertEquals(1, computed);
+        // other senders aren't served the same completions
+        debouncer.complete(new MockPlayer("alice"), SECOND / 2, "give", "ap");
+        assertEquals(2, computed);
+        // completions are always computed if they aren't limited
+        debouncer.complete(sender, false, SECOND / 2, "give", "ap");
+        assertEquals(3, computed);
+    }
+
+    @Test
+    public void testNarrow() throws ReflectiveOperationException {
+        Debouncer debouncer = new Debouncer(Duration.ofSeconds(1));
+        debouncer.complete(sender, 0, "give", "a");
+        assertEquals(Collections.singletonList("apricot"), debouncer.complete(sender, SECOND / 2, "give", "apr"));
+        // completions are narrowed with the same rule that found them
+        assertEquals(Collections.emptyList(), debouncer.complete(sender, SECOND / 2, "give", "aP"));
+        assertEquals(1, computed);
+    }
+
+    @Test
+    public void testRecompute() throws ReflectiveOperationException {
+        Debouncer debouncer = new Debouncer(Duration.ofSeconds(1));
+        debouncer.complete(sender, 0, "give", "apr");
+        // deleting part of the argument can find completions that weren't computed last time
+        assertEquals(Arrays.asList("apple", "apricot"), debouncer.complete(sender, SECOND / 4, "give", "ap"));
+        assertEquals(2, computed);
+        // so can starting another argument, or changing an earlier one
+        assertEquals(Collections.singletonList("banana"), debouncer.complete(sender, SECOND / 2, "give", "ap", "b"));
+        assertEquals(3, computed);
+        assertEquals(Collections.singletonList("banana"), debouncer.complete(sender, SECOND / 2, "take", "b"));
+        assertEquals(4, computed);
+    }
+
+    @Test
+    public void testExpire() throws ReflectiveOperationException {
+        Debouncer debouncer = new Debouncer(Duration.ofSeconds(1));
+        debouncer.complete(sender, 0, "give", "a");
+        debouncer.complete(sender, SECOND - 1, "give", "ap");
+        assertEquals(1, computed);
+        debouncer.complete(sender, SECOND, "give", "apr");
+        assertEquals(2, computed);
+    }
+
+    private List<String> compute(String typed) {
+        computed++;
+        List<String> values = typed.isEmpty() || typed.charAt(0) != 'b' ? Arrays.asList("apple", "apricot") : Collections.singletonList("banana");
+        List<String> matches = new ArrayList<>();
+        for (String value : values) if (value.startsWith(typed)) matches.add(value);
+        return matches;
+    }
+
+    // the debouncer is normally only created through the options that CommandCore is initialized with
+    private class Debouncer {
+        private final Object debouncer;
+        private final Method complete;
+
+        private Debouncer(Duration interval) throws ReflectiveOperationException {
+            Class<?> debouncerClass = Class.forName(CommandCore.class.getPackage().getName() + ".TabCompleteDebouncer");
+            Constructor<?> constructor = debouncerClass.getDeclaredConstructor(Duration.class);
+            constructor.setAccessible(true);
+            this.debouncer = constructor.newInstance(interval);
+            this.complete = debouncerClass.getDeclaredMethod("complete", CommandSender.class, String[].class, boolean.class, long.class, Supplier.class);
+            complete.setAccessible(true);
+        }
+
+        private List<String> complete(CommandSender sender, long now, String... args) throws ReflectiveOperationException {
+            return complete(sender, true, now, args);
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<String> complete(CommandSender sender, boolean limit, long now, String... args) throws ReflectiveOperationException {
+            Supplier<List<String>> completer = () -> compute(args[args.length - 1]);
+            return (List<String>) complete.invoke(debouncer, sender, args, limit, now, completer);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+import com.datasiqn.commandcore.CommandCore;
+import com.datasiqn.commandcore.argument.StringArguments;
+import com.datasiqn.commandcore.command.CommandContext;
+import com.datasiqn.commandcore.command.builder.CommandBuilder;
+import com.datasiqn.commandcore.task.ScheduledTask;
+import com.datasiqn.commandcore.task.TaskScheduler;
+import com.datasiqn.commandcore.task.TickingTask;
+import org.bukkit.Bukkit;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TaskSchedulerTest {
+    static {
+        MockServer.install();
+    }
+
+    private final List<String> log = new ArrayList<>();
+    private final MockPlayer sender = new MockPlayer("bob");
+    private final CommandContext context = CommandCore.createContext(CommandCore.createSource(sender), new CommandBuilder("work").build(), "work", new StringArguments(new ArrayList<>()));
+
+    @Test
+    public void testBudget() {
+        // with no budget, a single step is still run every tick
+        TaskScheduler scheduler = new TaskScheduler(null, 0);
+        ScheduledTask a = scheduler.submit(context, new LoggingTask("a", 2));
+        ScheduledTask b = scheduler.submit(context, new LoggingTask("b", 2));
+        tick();
+        assertEquals(Collections.singletonList("a0"), log);
+        tick();
+        tick();
+        tick();
+        assertEquals(Arrays.asList("a0", "b0", "a1", "b1"), log);
+        assertTrue(a.isDone());
+        assertTrue(b.isDone());
+        assertTrue(scheduler.getRunning().isEmpty());
+    }
+
+    @Test
+    public void testOrdering() {
+        TaskScheduler scheduler = new TaskScheduler(null, Long.MAX_VALUE);
+        scheduler.submit(context, new LoggingTask("a", 3));
+        scheduler.submit(context, new LoggingTask("b", 1));
+        scheduler.submit(context, new LoggingTask("c", 2));
+        tick();
+        // tasks take turns, and a task that finishes leaves the others running
+        assertEquals(Arrays.asList("a0", "b0", "c0", "a1", "c1", "a2"), log);
+        assertTrue(scheduler.getRunning().isEmpty());
+        tick();
+        assertEquals(6, log.size());
+    }
+
+    @Test
+    public void testCancel() {
+        TaskScheduler scheduler = new TaskScheduler(null, 0);
+        ScheduledTask a = scheduler.submit(context, new LoggingTask("a", 3));
+        ScheduledTask b = scheduler.submit(context, new LoggingTask("b", 3));
+        tick();
+        tick();
+        a.cancel();
+        tick();
+        assertEquals(Arrays.asList("a0", "b0", "a cancelled"), log);
+        assertEquals(1, scheduler.cancelAll(sender));
+        tick();
+        assertEquals(Arrays.asList("a0", "b0", "a cancelled", "b cancelled"), log);
+        assertFalse(a.isDone());
+        assertTrue(b.isCancelled());
+        assertTrue(scheduler.getRunning().isEmpty());
+    }
+
+    @Test
+    public void testException() {
+        TaskScheduler scheduler = new TaskScheduler(null, Long.MAX_VALUE);
+        ScheduledTask failing = scheduler.submit(context, new LoggingTask("a", 3) {
+            @Override
+            public boolean step() {
+                if (steps == 1) throw new IllegalStateException("broken");
+                return super.step();
+            }
+        });
+        ScheduledTask b = scheduler.submit(context, new LoggingTask("b", 2));
+        tick();
+        // a task that throws is cancelled, so it can clean up, and the other tasks keep running
+        assertEquals(Arrays.asList("a0", "b0", "a cancelled", "b1"), log);
+        assertTrue(failing.isCancelled());
+        assertFalse(failing.isDone());
+        assertTrue(b.isDone());
+        assertTrue(scheduler.getRunning().isEmpty());
+    }
+
+    private static void tick() {
+        ((MockServer) Bukkit.getServer()).tick();
+    }
+
+    private class LoggingTask implements TickingTask {
+        private final String name;
+        private final int total;
+        protected int steps;
+
+        private LoggingTask(String name, int total) {
+            this.name = name;
+            this.total = total;
+        }
+
+        @Override
+        public boolean step() {
+            log.add(name + steps);
+            return ++steps == total;
+        }
+
+        @Override
+        public void onCancel() {
+            log.add(name + " cancelled");
+        }
+    }
+}